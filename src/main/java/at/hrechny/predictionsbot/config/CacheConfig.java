@@ -16,11 +16,25 @@ public class CacheConfig {
   @Value("${connectors.api-football.minInterval:60}")
   private int apiFootballCacheDuration;
 
+  @Value("${cache.match-results.maxSize:1000}")
+  private int matchResultsCacheSize;
+
+  @Value("${cache.user-profiles.maxSize:10000}")
+  private int userProfilesCacheSize;
+
   @Bean
   public CacheManager caffeineCacheManager() {
     var caffeine = Caffeine.newBuilder().expireAfterWrite(Duration.ofSeconds(apiFootballCacheDuration));
     CaffeineCacheManager cacheManager = new CaffeineCacheManager("api-football");
     cacheManager.setCaffeine(caffeine);
+    cacheManager.registerCustomCache("match-results", Caffeine.newBuilder()
+        .maximumSize(matchResultsCacheSize)
+        .expireAfterAccess(Duration.ofDays(1))
+        .build());
+    cacheManager.registerCustomCache("user-profiles", Caffeine.newBuilder()
+        .maximumSize(userProfilesCacheSize)
+        .expireAfterWrite(Duration.ofMinutes(10))
+        .build());
     return cacheManager;
   }
 }
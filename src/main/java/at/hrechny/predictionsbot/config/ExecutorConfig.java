@@ -0,0 +1,60 @@
+package at.hrechny.predictionsbot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+  @Value("${connectors.api-football.maxConnections:4}")
+  private int apiFootballConnections;
+
+  @Value("${fixtures.parallelism:2}")
+  private int fixturesParallelism;
+
+  @Value("${telegram.broadcast.parallelism:8}")
+  private int broadcastParallelism;
+
+  @Value("${telegram.queue.parallelism:4}")
+  private int telegramQueueParallelism;
+
+  @Value("${telegram.updates.parallelism:4}")
+  private int updatesParallelism;
+
+  @Bean
+  public ThreadPoolTaskExecutor apiFootballExecutor() {
+    return buildExecutor("api-football-", apiFootballConnections);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor fixturesExecutor() {
+    return buildExecutor("fixtures-", fixturesParallelism);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor broadcastExecutor() {
+    return buildExecutor("broadcast-", broadcastParallelism);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor telegramExecutor() {
+    return buildExecutor("telegram-", telegramQueueParallelism);
+  }
+
+  @Bean
+  public ThreadPoolTaskExecutor updatesExecutor() {
+    return buildExecutor("updates-", updatesParallelism);
+  }
+
+  private ThreadPoolTaskExecutor buildExecutor(String threadNamePrefix, int poolSize) {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    return executor;
+  }
+
+}
@@ -1,8 +1,6 @@
 package at.hrechny.predictionsbot.config;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import at.hrechny.predictionsbot.util.JsonUtils;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.http.HttpResponse;
@@ -24,18 +22,13 @@ public class JsonBodyHandler<W> implements HttpResponse.BodyHandler<W> {
   }
 
   public static <T> HttpResponse.BodySubscriber<T> asJSON(Class<T> targetType) {
-    HttpResponse.BodySubscriber<String> upstream = HttpResponse.BodySubscribers.ofString(StandardCharsets.UTF_8);
+    HttpResponse.BodySubscriber<byte[]> upstream = HttpResponse.BodySubscribers.ofByteArray();
 
-    return HttpResponse.BodySubscribers.mapping(upstream, (String body) -> {
+    return HttpResponse.BodySubscribers.mapping(upstream, (byte[] body) -> {
       try {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE, false);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        objectMapper.registerModule(new JavaTimeModule());
-
-        return objectMapper.readValue(body, targetType);
+        return JsonUtils.getReader(targetType).readValue(body);
       } catch (IOException e) {
-        log.error("Failed to deserialize JSON response for {}: {}", targetType.getSimpleName(), body, e);
+        log.error("Failed to deserialize JSON response for {}: {}", targetType.getSimpleName(), new String(body, StandardCharsets.UTF_8), e);
         throw new UncheckedIOException(e);
       }
     });
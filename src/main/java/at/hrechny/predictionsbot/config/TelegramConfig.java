@@ -0,0 +1,19 @@
+package at.hrechny.predictionsbot.config;
+
+import com.pengrad.telegrambot.TelegramBot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TelegramConfig {
+
+  @Value("${telegram.token}")
+  private String botToken;
+
+  @Bean
+  public TelegramBot telegramBot() {
+    return new TelegramBot(botToken);
+  }
+
+}
@@ -8,27 +8,38 @@ import at.hrechny.predictionsbot.connector.apifootball.model.FixturesResponse;
 import at.hrechny.predictionsbot.connector.apifootball.model.RoundsResponse;
 import at.hrechny.predictionsbot.database.entity.AuditEntity;
 import at.hrechny.predictionsbot.database.model.ApiProvider;
-import at.hrechny.predictionsbot.database.repository.AuditRepository;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
 import java.net.URI;
 import java.time.Instant;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.LocalTime;
-import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import at.hrechny.predictionsbot.exception.interceptor.EnableErrorReport;
+import at.hrechny.predictionsbot.util.JsonUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.ListUtils;
 import org.apache.http.HttpHost;
-import org.apache.http.client.fluent.Executor;
-import org.apache.http.client.fluent.Request;
+import org.apache.http.auth.AuthScope;
+import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.HttpResponseException;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.UriComponentsBuilder;
 
@@ -38,7 +49,15 @@ import org.springframework.web.util.UriComponentsBuilder;
 @RequiredArgsConstructor
 public class ApiFootballConnector {
 
-  private final AuditRepository auditRepository;
+  private static final String FIXTURES_CACHE = "api-football";
+  private static final int MAX_FIXTURE_IDS_PER_REQUEST = 20;
+  private static final int CONNECTION_MAX_IDLE_SECONDS = 30;
+  private static final int CONNECTION_VALIDATE_AFTER_INACTIVITY_MS = 5000;
+
+  private final QuotaTracker quotaTracker;
+  private final AuditRecorder auditRecorder;
+  private final TaskExecutor apiFootballExecutor;
+  private final CacheManager cacheManager;
 
   @Value("${connectors.api-football.url}")
   private String baseUrl;
@@ -46,12 +65,6 @@ public class ApiFootballConnector {
   @Value("${connectors.api-football.apiKey}")
   private String apiKey;
 
-  @Value("${connectors.api-football.maxAttempts}")
-  private int maxAttempts;
-
-  @Value("${connectors.api-football.dayStarts}")
-  private String dayStarts;
-
   @Value("${connectors.proxy.host}")
   private String proxyHost;
 
@@ -64,6 +77,38 @@ public class ApiFootballConnector {
   @Value("${connectors.proxy.password}")
   private String proxyPassword;
 
+  @Value("${connectors.api-football.maxConnections:4}")
+  private int maxConnections;
+
+  private CloseableHttpClient httpClient;
+
+  @PostConstruct
+  public void init() {
+    // Long-living client with the pool of keep-alive connections through the proxy
+    HttpHost proxy = new HttpHost(proxyHost, Integer.parseInt(proxyPort));
+    var credentialsProvider = new BasicCredentialsProvider();
+    credentialsProvider.setCredentials(new AuthScope(proxy), new UsernamePasswordCredentials(proxyUsername, proxyPassword));
+
+    var connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setMaxTotal(maxConnections);
+    connectionManager.setDefaultMaxPerRoute(maxConnections);
+    connectionManager.setValidateAfterInactivity(CONNECTION_VALIDATE_AFTER_INACTIVITY_MS);
+
+    httpClient = HttpClients.custom()
+        .setConnectionManager(connectionManager)
+        .setProxy(proxy)
+        .setDefaultCredentialsProvider(credentialsProvider)
+        .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+        .evictExpiredConnections()
+        .evictIdleConnections(CONNECTION_MAX_IDLE_SECONDS, TimeUnit.SECONDS)
+        .build();
+  }
+
+  @PreDestroy
+  public void destroy() throws IOException {
+    httpClient.close();
+  }
+
   public List<String> getRounds(Long competitionId, String seasonYear) {
     URI uri = UriComponentsBuilder.fromUriString(baseUrl + "/fixtures/rounds")
         .queryParam("league", competitionId)
@@ -79,26 +124,67 @@ public class ApiFootballConnector {
         .queryParam("season", seasonYear)
         .build().toUri();
 
-    return sendRequest(uri, FixturesResponse.class).getResponse();
+    return cacheFixtures(sendRequest(uri, FixturesResponse.class).getResponse());
   }
 
-  @Cacheable(value = "api-football")
+  /**
+   * Fetches the fixtures by IDs. Fixtures are cached one by one, so only the IDs missing in the cache are requested.
+   * Since API-Football accepts limited number of IDs per request, missing IDs are split into chunks which are requested concurrently.
+   */
   public List<Fixture> getFixtures(List<Long> fixtureIds) throws ApiFootballConnectorException {
-    var fixtureIdsString = fixtureIds.stream().limit(20).map(Object::toString).toList();
+    var fixturesCache = getFixturesCache();
+    var fixtures = new ArrayList<Fixture>();
+    var missingFixtureIds = new ArrayList<Long>();
+    fixtureIds.stream().distinct().forEach(fixtureId -> {
+      var fixture = fixturesCache.get(fixtureId, Fixture.class);
+      if (fixture != null) {
+        fixtures.add(fixture);
+      } else {
+        missingFixtureIds.add(fixtureId);
+      }
+    });
+
+    if (missingFixtureIds.isEmpty()) {
+      return fixtures;
+    }
+
+    log.debug("{} fixtures found in cache, {} fixtures to be requested", fixtures.size(), missingFixtureIds.size());
+    var requests = ListUtils.partition(missingFixtureIds, MAX_FIXTURE_IDS_PER_REQUEST).stream()
+        .map(chunk -> CompletableFuture.supplyAsync(() -> fetchFixtures(chunk), apiFootballExecutor))
+        .toList();
+    requests.stream()
+        .map(CompletableFuture::join)
+        .flatMap(List::stream)
+        .forEach(fixtures::add);
+    return fixtures;
+  }
+
+  private List<Fixture> fetchFixtures(List<Long> fixtureIds) {
+    var fixtureIdsString = fixtureIds.stream().map(Object::toString).toList();
     URI uri = UriComponentsBuilder.fromUriString(baseUrl + "/fixtures")
         .queryParam("ids", String.join("-", fixtureIdsString))
         .build().toUri();
 
     try {
-      return sendRequest(uri, FixturesResponse.class).getResponse();
+      return cacheFixtures(sendRequest(uri, FixturesResponse.class).getResponse());
     } catch (ApiFootballConnectorException e) {
       log.error("Failed to fetch fixtures", e);
       return List.of();
     }
   }
 
-  private synchronized <T, G extends ApiFootballResponse<T>> G sendRequest(URI uri, Class<G> clazz) throws ApiFootballConnectorException {
-    checkMaxAttempts();
+  private List<Fixture> cacheFixtures(List<Fixture> fixtures) {
+    var fixturesCache = getFixturesCache();
+    fixtures.forEach(fixture -> fixturesCache.put(fixture.getFixture().getId(), fixture));
+    return fixtures;
+  }
+
+  private Cache getFixturesCache() {
+    return Objects.requireNonNull(cacheManager.getCache(FIXTURES_CACHE), "Cache " + FIXTURES_CACHE + " is not configured");
+  }
+
+  private <T, G extends ApiFootballResponse<T>> G sendRequest(URI uri, Class<G> clazz) throws ApiFootballConnectorException {
+    quotaTracker.acquire();
 
     var auditEntity = new AuditEntity();
     auditEntity.setApiKey(apiKey);
@@ -107,28 +193,18 @@ public class ApiFootballConnector {
     auditEntity.setRequestDate(Instant.now());
 
     G response;
-    try {
-      // Create proxy configuration
-      HttpHost proxy = new HttpHost(proxyHost, Integer.parseInt(proxyPort));
-
-      // Create request with headers
-      Request request = Request.Get(uri.toString())
-          .addHeader("X-RapidAPI-Key", apiKey)
-          .addHeader("X-RapidAPI-Host", "api-football-v1.p.rapidapi.com")
-          .viaProxy(proxy);
-
-      // Execute request with proxy authentication
-      String responseString = Executor.newInstance()
-          .auth(proxy, proxyUsername, proxyPassword)
-          .execute(request)
-          .returnContent().asString();
-
-      // Parse response using ObjectMapper
-      ObjectMapper objectMapper = new ObjectMapper();
-      objectMapper.configure(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE, false);
-      objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-      objectMapper.registerModule(new JavaTimeModule());
-      response = objectMapper.readValue(responseString, clazz);
+    var request = new HttpGet(uri);
+    request.addHeader("X-RapidAPI-Key", apiKey);
+    request.addHeader("X-RapidAPI-Host", "api-football-v1.p.rapidapi.com");
+    try (var httpResponse = httpClient.execute(request)) {
+      var statusLine = httpResponse.getStatusLine();
+      if (statusLine.getStatusCode() >= 300) {
+        EntityUtils.consume(httpResponse.getEntity());
+        throw new HttpResponseException(statusLine.getStatusCode(), statusLine.getReasonPhrase());
+      }
+
+      // Parse response directly from the stream
+      response = JsonUtils.getReader(clazz).readValue(httpResponse.getEntity().getContent());
 
       if (response == null) {
         auditEntity.setSuccess(false);
@@ -150,27 +226,10 @@ public class ApiFootballConnector {
       auditEntity.setSuccess(false);
       throw new ApiFootballConnectorException(Reason.REQUEST_ERROR);
     } finally {
-      auditRepository.save(auditEntity);
+      auditRecorder.record(auditEntity);
     }
 
     return response;
   }
 
-  private void checkMaxAttempts() {
-    if (maxAttempts <= 0) {
-      return;
-    }
-
-    LocalDate billingStartDate = LocalDate.now(ZoneOffset.UTC);
-    LocalTime billingStartTime = LocalTime.parse(dayStarts);
-    if (LocalTime.now(ZoneOffset.UTC).isBefore(billingStartTime)) {
-      billingStartDate = billingStartDate.minusDays(1);
-    }
-    var billingStartDateTime = LocalDateTime.of(billingStartDate, billingStartTime).toInstant(ZoneOffset.UTC);
-    int count = auditRepository.countAllByApiProviderAndApiKeyAndRequestDateAfter(ApiProvider.API_FOOTBALL, apiKey, billingStartDateTime);
-    if (count >= maxAttempts) {
-      throw new ApiFootballConnectorException(Reason.QUOTA_EXCEEDED);
-    }
-  }
-
 }
@@ -0,0 +1,100 @@
+package at.hrechny.predictionsbot.connector.apifootball;
+
+import at.hrechny.predictionsbot.database.entity.AuditEntity;
+import at.hrechny.predictionsbot.database.repository.AuditRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Collects audit records of the requests to external APIs and stores them in batches outside the request path.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditRecorder {
+
+  private static final int MAX_PENDING = 10_000;
+  private static final Duration DROPPED_RETENTION = Duration.ofDays(1);
+
+  private final AuditRepository auditRepository;
+
+  private final Deque<AuditEntity> pendingRecords = new ConcurrentLinkedDeque<>();
+  private final Queue<Instant> droppedRequestDates = new ConcurrentLinkedQueue<>();
+
+  public void record(AuditEntity auditEntity) {
+    pendingRecords.add(auditEntity);
+  }
+
+  /**
+   * Number of the requests after the given date which are not stored yet, including the dropped ones.
+   */
+  public int countPending(Instant requestDateAfter) {
+    return (int) (pendingRecords.stream().filter(auditEntity -> auditEntity.getRequestDate().isAfter(requestDateAfter)).count()
+        + droppedRequestDates.stream().filter(requestDate -> requestDate.isAfter(requestDateAfter)).count());
+  }
+
+  @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.SECONDS)
+  public void flush() {
+    var batch = new ArrayList<AuditEntity>();
+    AuditEntity auditEntity;
+    while ((auditEntity = pendingRecords.poll()) != null) {
+      batch.add(auditEntity);
+    }
+
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    try {
+      auditRepository.saveAll(batch);
+      log.debug("{} audit records have been stored", batch.size());
+    } catch (Exception ex) {
+      log.error("Failed to store {} audit records, will retry", batch.size(), ex);
+      requeue(batch);
+    }
+  }
+
+  /**
+   * Puts the failed records back at the head of the queue. The oldest records over the limit are dropped,
+   * but their request dates are kept for a day, so that the quota is not underestimated.
+   */
+  private void requeue(List<AuditEntity> batch) {
+    for (int i = batch.size() - 1; i >= 0; i--) {
+      pendingRecords.offerFirst(batch.get(i));
+    }
+
+    int dropped = 0;
+    while (pendingRecords.size() > MAX_PENDING) {
+      var auditEntity = pendingRecords.pollFirst();
+      if (auditEntity == null) {
+        break;
+      }
+      droppedRequestDates.add(auditEntity.getRequestDate());
+      dropped++;
+    }
+
+    var retainedAfter = Instant.now().minus(DROPPED_RETENTION);
+    droppedRequestDates.removeIf(requestDate -> requestDate.isBefore(retainedAfter));
+    if (dropped > 0) {
+      log.error("{} audit records have been dropped", dropped);
+    }
+  }
+
+  @PreDestroy
+  public void destroy() {
+    flush();
+  }
+
+}
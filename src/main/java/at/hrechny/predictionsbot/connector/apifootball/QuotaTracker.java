@@ -0,0 +1,101 @@
+package at.hrechny.predictionsbot.connector.apifootball;
+
+import at.hrechny.predictionsbot.connector.apifootball.exception.ApiFootballConnectorException;
+import at.hrechny.predictionsbot.connector.apifootball.exception.ApiFootballConnectorException.Reason;
+import at.hrechny.predictionsbot.database.model.ApiProvider;
+import at.hrechny.predictionsbot.database.repository.AuditRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Counts the requests of the current billing day in memory.
+ * The counter is seeded from the audit records at the start and on every billing day rollover.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuotaTracker {
+
+  private final AuditRepository auditRepository;
+  private final AuditRecorder auditRecorder;
+
+  @Value("${connectors.api-football.apiKey}")
+  private String apiKey;
+
+  @Value("${connectors.api-football.maxAttempts}")
+  private int maxAttempts;
+
+  @Value("${connectors.api-football.dayStarts}")
+  private String dayStarts;
+
+  private final AtomicInteger attempts = new AtomicInteger();
+
+  private volatile Instant billingStart;
+
+  @PostConstruct
+  public void init() {
+    reset(getBillingStart());
+  }
+
+  public void acquire() {
+    if (maxAttempts <= 0) {
+      return;
+    }
+
+    var currentBillingStart = getBillingStart();
+    if (!currentBillingStart.equals(billingStart)) {
+      reset(currentBillingStart);
+    }
+
+    if (attempts.incrementAndGet() > maxAttempts) {
+      attempts.decrementAndGet();
+      throw new ApiFootballConnectorException(Reason.QUOTA_EXCEEDED);
+    }
+  }
+
+  /**
+   * Number of requests left for the current billing day, or {@link Integer#MAX_VALUE} if the quota is not limited.
+   */
+  public int getRemaining() {
+    if (maxAttempts <= 0) {
+      return Integer.MAX_VALUE;
+    }
+
+    var currentBillingStart = getBillingStart();
+    if (!currentBillingStart.equals(billingStart)) {
+      reset(currentBillingStart);
+    }
+    return Math.max(0, maxAttempts - attempts.get());
+  }
+
+  private synchronized void reset(Instant currentBillingStart) {
+    if (currentBillingStart.equals(billingStart)) {
+      return;
+    }
+
+    int count = auditRepository.countAllByApiProviderAndApiKeyAndRequestDateAfter(ApiProvider.API_FOOTBALL, apiKey, currentBillingStart)
+        + auditRecorder.countPending(currentBillingStart);
+    attempts.set(count);
+    billingStart = currentBillingStart;
+    log.info("API-Football quota counter has been set to {} for the billing day started at {}", count, currentBillingStart);
+  }
+
+  private Instant getBillingStart() {
+    LocalDate billingStartDate = LocalDate.now(ZoneOffset.UTC);
+    LocalTime billingStartTime = LocalTime.parse(dayStarts);
+    if (LocalTime.now(ZoneOffset.UTC).isBefore(billingStartTime)) {
+      billingStartDate = billingStartDate.minusDays(1);
+    }
+    return LocalDateTime.of(billingStartDate, billingStartTime).toInstant(ZoneOffset.UTC);
+  }
+
+}
@@ -4,7 +4,8 @@ import at.hrechny.predictionsbot.exception.RequestValidationException;
 import at.hrechny.predictionsbot.model.Competition;
 import at.hrechny.predictionsbot.model.Season;
 import at.hrechny.predictionsbot.service.predictor.CompetitionService;
-import at.hrechny.predictionsbot.service.telegram.TelegramService;
+import at.hrechny.predictionsbot.service.predictor.FixturesRefreshService;
+import at.hrechny.predictionsbot.service.telegram.BroadcastService;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +25,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class CompetitionController {
 
   private final CompetitionService competitionService;
-  private final TelegramService telegramService;
+  private final FixturesRefreshService fixturesRefreshService;
+  private final BroadcastService broadcastService;
 
   @PostMapping(value = "/${secrets.adminKey}/competitions", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
   public ResponseEntity<Map<String, UUID>> addCompetition(@Valid @RequestBody Competition competition) {
@@ -33,7 +35,7 @@ public class CompetitionController {
     }
 
     var id = competitionService.addCompetition(competition);
-    telegramService.sendCompetition(id);
+    broadcastService.sendCompetition(id);
     return ResponseEntity.ok(Map.of("id", id));
   }
 
@@ -49,7 +51,7 @@ public class CompetitionController {
     }
 
     var id = competitionService.addSeason(competitionId, season);
-    telegramService.pushUpdate(competitionId);
+    broadcastService.pushUpdate(competitionId);
     return ResponseEntity.ok(Map.of("id", id));
   }
 
@@ -70,13 +72,13 @@ public class CompetitionController {
 
     season.setId(seasonId);
     competitionService.updateSeason(competitionId, season);
-    telegramService.pushUpdate(competitionId);
+    broadcastService.pushUpdate(competitionId);
     return ResponseEntity.ok().build();
   }
 
   @PostMapping(value = "/${secrets.adminKey}/fixtures")
   public ResponseEntity<Void> refreshFixtures() {
-    competitionService.getActiveSeasons().forEach(competitionService::refreshFixtures);
+    fixturesRefreshService.refreshActiveSeasons();
     return ResponseEntity.ok().build();
   }
 
@@ -1,13 +1,19 @@
 package at.hrechny.predictionsbot.controller;
 
 import at.hrechny.predictionsbot.exception.interceptor.EnableErrorReport;
+import at.hrechny.predictionsbot.model.BroadcastStatus;
+import at.hrechny.predictionsbot.model.MessageQueueMetrics;
 import at.hrechny.predictionsbot.model.PushUpdate;
-import at.hrechny.predictionsbot.service.predictor.UserService;
-import at.hrechny.predictionsbot.service.telegram.TelegramService;
+import at.hrechny.predictionsbot.service.telegram.BroadcastService;
+import at.hrechny.predictionsbot.service.telegram.MessageQueue;
 import jakarta.validation.Valid;
+import java.util.Map;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -17,13 +23,23 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class ServiceController {
 
-  private final UserService userService;
-  private final TelegramService telegramService;
+  private final BroadcastService broadcastService;
+  private final MessageQueue messageQueue;
 
-  @PostMapping(value = "/${secrets.adminKey}", consumes = MediaType.APPLICATION_JSON_VALUE)
-  public ResponseEntity<Void> pushUpdate(@Valid @RequestBody PushUpdate pushUpdate) {
-    userService.getUsers().forEach(user -> telegramService.pushUpdate(user.getId(), pushUpdate.getMessage(), pushUpdate.isUpdateCompetitionList()));
-    return ResponseEntity.ok().build();
+  @PostMapping(value = "/${secrets.adminKey}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<Map<String, UUID>> pushUpdate(@Valid @RequestBody PushUpdate pushUpdate) {
+    var id = broadcastService.pushUpdate(pushUpdate.getMessage(), pushUpdate.isUpdateCompetitionList());
+    return ResponseEntity.accepted().body(Map.of("id", id));
+  }
+
+  @GetMapping(value = "/${secrets.adminKey}/broadcasts/{broadcastId}", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<BroadcastStatus> getBroadcast(@PathVariable("broadcastId") UUID broadcastId) {
+    return ResponseEntity.ok(broadcastService.getStatus(broadcastId));
+  }
+
+  @GetMapping(value = "/${secrets.adminKey}/telegram/metrics", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<MessageQueueMetrics> getTelegramMetrics() {
+    return ResponseEntity.ok(messageQueue.getMetrics());
   }
 
 }
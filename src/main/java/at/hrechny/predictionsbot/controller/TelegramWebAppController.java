@@ -85,16 +85,14 @@ public class TelegramWebAppController {
         .filter(ObjectUtils.distinctByKey(RoundEntity::getOrderNumber))
         .sorted(Comparator.comparingInt(RoundEntity::getOrderNumber))
         .toList();
-    var fixtures = round.getSeason().getRounds().stream()
-        .filter(roundEntity -> roundEntity.getOrderNumber() == round.getOrderNumber())
-        .flatMap(roundEntity -> roundEntity.getMatches().stream())
-        .sorted(Comparator.comparing(MatchEntity::getStartTime, Comparator.nullsLast(Comparator.naturalOrder())))
-        .toList();
+    var fixtures = predictionService.getPredictions(round.getSeason().getId(), round.getOrderNumber(), userId);
 
     var modelAndView = new ModelAndView("predictions");
     modelAndView.addObject("user", user);
     modelAndView.addObject("fixtures", fixtures);
     modelAndView.addObject("rounds", rounds);
+    modelAndView.addObject("activeRound", round.getOrderNumber());
+    modelAndView.addObject("competitionName", round.getSeason().getCompetition().getName());
     modelAndView.addObject("baseUrl", buildBaseUrl("predictions", userId, competitionId, null));
     return modelAndView;
   }
@@ -113,7 +111,6 @@ public class TelegramWebAppController {
     }
 
     var season = seasonId != null ? competitionService.getSeason(seasonId) : competitionService.getCurrentSeason(competitionId);
-    competitionService.refreshActiveFixtures(season.getId());
 
     List<Result> results;
     List<MatchEntity> matches;
@@ -138,7 +135,7 @@ public class TelegramWebAppController {
     }
 
     var matchResults = matches.stream()
-        .collect(Collectors.toMap(match -> match.getId().toString(), match -> predictionService.getResults(List.of(match))));
+        .collect(Collectors.toMap(match -> match.getId().toString(), predictionService::getMatchResults));
     var rounds = season.getRounds().stream()
         .flatMap(roundEntity -> roundEntity.getMatches().stream())
         .filter(match -> Arrays.asList(MatchStatus.STARTED, MatchStatus.FINISHED).contains(match.getStatus()))
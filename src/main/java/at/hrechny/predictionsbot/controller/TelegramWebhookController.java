@@ -0,0 +1,47 @@
+package at.hrechny.predictionsbot.controller;
+
+import at.hrechny.predictionsbot.service.telegram.MessageListener;
+import com.pengrad.telegrambot.utility.BotUtils;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Receives the bot updates from Telegram when the webhook mode is enabled instead of long polling.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "telegram.webhook.enabled", havingValue = "true")
+public class TelegramWebhookController {
+
+  private static final String SECRET_TOKEN_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+
+  @Value("${telegram.webhook.secret:}")
+  private String webhookSecret;
+
+  private final MessageListener messageListener;
+
+  @PostMapping(value = "/telegram/updates", consumes = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<Void> receiveUpdate(@RequestHeader(value = SECRET_TOKEN_HEADER, required = false) String secretToken, @RequestBody String body) {
+    if (StringUtils.isBlank(webhookSecret) || secretToken == null || !MessageDigest.isEqual(secretToken.getBytes(StandardCharsets.UTF_8), webhookSecret.getBytes(StandardCharsets.UTF_8))) {
+      log.warn("Got the update with invalid secret token");
+      return new ResponseEntity<>(HttpStatus.FORBIDDEN);
+    }
+
+    messageListener.enqueue(BotUtils.parseUpdate(body));
+    return ResponseEntity.ok().build();
+  }
+
+}
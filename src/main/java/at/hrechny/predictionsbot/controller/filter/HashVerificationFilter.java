@@ -29,7 +29,7 @@ public class HashVerificationFilter implements Filter {
     var hash = uriParts[2];
     var userId = uriParts[4];
 
-    if (!hashUtils.getHash(userId).equals(hash)) {
+    if (!hashUtils.verify(userId, hash)) {
       response.sendError(HttpServletResponse.SC_BAD_REQUEST, "User not found");
       return;
     }
@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
@@ -17,6 +18,8 @@ import java.util.Optional;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 @Getter
 @Setter
@@ -53,7 +56,18 @@ public class MatchEntity extends GeneratedIdEntity {
   @Column(unique=true)
   private Long apiFootballId;
 
+  @Column
+  private Integer scoreVersion;
+
+  /**
+   * Concurrent refreshes of the same match fail instead of applying the same change of the standings twice.
+   */
+  @Version
+  @Column(columnDefinition = "bigint default 0")
+  private long version;
+
   @OneToMany(mappedBy="match", cascade = { CascadeType.PERSIST, CascadeType.MERGE })
+  @Fetch(FetchMode.SUBSELECT)
   private List<PredictionEntity> predictions = new ArrayList<>();
 
   public Optional<PredictionEntity> getPrediction(Long userId) {
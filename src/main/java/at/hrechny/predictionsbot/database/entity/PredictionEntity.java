@@ -2,9 +2,11 @@ package at.hrechny.predictionsbot.database.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.Instant;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -14,7 +16,11 @@ import lombok.Setter;
 @Setter
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "predictions")
+@Table(name = "predictions", uniqueConstraints = {
+  @UniqueConstraint(name = "uk_predictions_user_match", columnNames = { "user_id", "match_id" })
+}, indexes = {
+  @Index(name = "idx_predictions_match_id", columnList = "match_id")
+})
 public class PredictionEntity extends GeneratedIdEntity {
 
   @ManyToOne
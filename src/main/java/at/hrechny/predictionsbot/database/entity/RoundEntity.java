@@ -15,6 +15,8 @@ import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 @Getter
 @Setter
@@ -38,6 +40,7 @@ public class RoundEntity extends GeneratedIdEntity {
   private String apiFootballId;
 
   @OneToMany(mappedBy="round", cascade = { CascadeType.PERSIST, CascadeType.MERGE })
+  @Fetch(FetchMode.SUBSELECT)
   private List<MatchEntity> matches = new ArrayList<>();
 
 }
@@ -12,6 +12,8 @@ import java.util.List;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 @Getter
 @Setter
@@ -30,7 +32,20 @@ public class SeasonEntity extends GeneratedIdEntity  {
   @Column
   private boolean active;
 
+  /**
+   * Standings are built and kept up to date by deltas. Changed only by the bulk updates of the season repository.
+   */
+  @Column(columnDefinition = "boolean default false", insertable = false, updatable = false)
+  private boolean standingsBuilt;
+
+  /**
+   * Increased every time the standings are marked as stale, so that a concurrent rebuild does not mark them as built.
+   */
+  @Column(columnDefinition = "integer default 0", insertable = false, updatable = false)
+  private int standingsVersion;
+
   @OneToMany(mappedBy = "season", cascade = { CascadeType.PERSIST, CascadeType.MERGE })
+  @Fetch(FetchMode.SUBSELECT)
   private List<RoundEntity> rounds;
 
 }
@@ -0,0 +1,37 @@
+package at.hrechny.predictionsbot.database.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@Table(name = "standings", uniqueConstraints = { @UniqueConstraint(columnNames = { "season_id", "user_id" }) })
+public class StandingEntity extends GeneratedIdEntity {
+
+  @ManyToOne
+  @JoinColumn(name="season_id", nullable=false)
+  private SeasonEntity season;
+
+  @ManyToOne
+  @JoinColumn(name="user_id", nullable=false)
+  private UserEntity user;
+
+  @Column
+  private int predictions;
+
+  @Column
+  private int guessed;
+
+  @Column
+  private int sum;
+
+}
@@ -3,6 +3,8 @@ package at.hrechny.predictionsbot.database.model;
 import at.hrechny.predictionsbot.exception.NotFoundException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import lombok.Getter;
 
@@ -23,15 +25,31 @@ public enum RoundType {
   THIRD_PLACE_FINAL("\uD83E\uDD49", List.of("3rd Place Final")),
   FINAL("\uD83C\uDFC6", List.of("Final"));
 
+  private static final Map<String, List<RoundType>> RESOLVED_ALIASES = new ConcurrentHashMap<>();
+
   private final String name;
   private final List<String> aliasNames;
+  private final List<Pattern> aliasPatterns;
 
   RoundType(String name, List<String> aliasNames) {
     this.name = name;
     this.aliasNames = aliasNames;
+    this.aliasPatterns = aliasNames.stream().map(Pattern::compile).toList();
   }
 
+  /**
+   * Resolves the round types by the API-Football round name. Resolved names are memoized, as the set of the round names is small.
+   */
   public static List<RoundType> getByAlias(String aliasName) {
+    var roundTypes = RESOLVED_ALIASES.get(aliasName);
+    if (roundTypes == null) {
+      roundTypes = List.copyOf(resolveAlias(aliasName));
+      RESOLVED_ALIASES.put(aliasName, roundTypes);
+    }
+    return roundTypes;
+  }
+
+  private static List<RoundType> resolveAlias(String aliasName) {
     var roundTypes = new ArrayList<RoundType>();
 
     // Special case for "Knockout Round Play-offs"
@@ -41,7 +59,7 @@ public enum RoundType {
     }
 
     for (var roundType : RoundType.values()) {
-      if (roundType.getAliasNames().stream().anyMatch(pattern -> Pattern.matches(pattern, aliasName))) {
+      if (roundType.getAliasPatterns().stream().anyMatch(pattern -> pattern.matcher(aliasName).matches())) {
         roundTypes.add(roundType);
       }
     }
@@ -3,11 +3,14 @@ package at.hrechny.predictionsbot.database.repository;
 import at.hrechny.predictionsbot.database.entity.MatchEntity;
 import at.hrechny.predictionsbot.database.entity.SeasonEntity;
 import at.hrechny.predictionsbot.database.model.MatchStatus;
+import at.hrechny.predictionsbot.model.MatchPrediction;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -18,10 +21,25 @@ public interface MatchRepository extends CrudRepository<MatchEntity, UUID> {
 
   List<MatchEntity> findAllByStartTimeAfterAndStartTimeBeforeOrderByStartTimeAsc(Instant from, Instant until);
 
-  List<MatchEntity> findAllByRoundSeasonAndStatusInAndStartTimeBefore(SeasonEntity seasonEntity, List<MatchStatus> statuses, Instant time);
-
-  default List<MatchEntity> findAllActive(SeasonEntity seasonEntity) {
-    return findAllByRoundSeasonAndStatusInAndStartTimeBefore(seasonEntity, Arrays.asList(MatchStatus.PLANNED, MatchStatus.STARTED), Instant.now());
+  @EntityGraph(attributePaths = { "predictions", "predictions.user" })
+  List<MatchEntity> findAllByRoundSeasonAndStatus(SeasonEntity seasonEntity, MatchStatus status);
+
+  @Query("select new at.hrechny.predictionsbot.model.MatchPrediction(m.id, m.startTime, ht.logoUrl, awt.logoUrl, p.predictionHome, p.predictionAway, p.doubleUp) "
+      + "from MatchEntity m JOIN m.homeTeam ht JOIN m.awayTeam awt LEFT JOIN m.predictions p ON p.user.id = :userId "
+      + "WHERE m.round.season.id = :seasonId and m.round.orderNumber = :orderNumber ORDER BY m.startTime asc nulls last")
+  List<MatchPrediction> findAllPredictionsOfRound(UUID seasonId, int orderNumber, Long userId);
+
+  @Query("select m from MatchEntity m WHERE m.round.season.active = true and m.startTime < :now "
+      + "and (m.status = :started or (m.status = :planned and m.startTime > :kickoffAfter))")
+  List<MatchEntity> findAllLive(MatchStatus started, MatchStatus planned, Instant kickoffAfter, Instant now);
+
+  /**
+   * Started matches of the active seasons and the planned ones kicked off within the grace period.
+   * Planned matches past the grace period are considered postponed and are not refreshed live.
+   */
+  default List<MatchEntity> findAllLive(Duration kickoffGrace) {
+    var now = Instant.now();
+    return findAllLive(MatchStatus.STARTED, MatchStatus.PLANNED, now.minus(kickoffGrace), now);
   }
 
   default Optional<MatchEntity> findUpcoming(SeasonEntity seasonEntity) {
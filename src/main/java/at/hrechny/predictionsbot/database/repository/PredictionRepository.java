@@ -0,0 +1,38 @@
+package at.hrechny.predictionsbot.database.repository;
+
+import at.hrechny.predictionsbot.database.entity.PredictionEntity;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+public interface PredictionRepository extends CrudRepository<PredictionEntity, UUID> {
+
+  @Query("select p from PredictionEntity p JOIN FETCH p.user WHERE p.match.id in :matchIds")
+  List<PredictionEntity> findAllByMatchIdIn(Collection<UUID> matchIds);
+
+  @Query("select p from PredictionEntity p JOIN FETCH p.match m WHERE p.user.id = :userId and m.round.season.id = :seasonId and m.round.orderNumber = :orderNumber")
+  List<PredictionEntity> findAllOfRound(Long userId, UUID seasonId, int orderNumber);
+
+  @Query("select count(p) from PredictionEntity p WHERE p.user.id = :userId and p.doubleUp = true and p.match.round.season.id = :seasonId and p.match.round.orderNumber = :orderNumber")
+  long countDoubleUpsOfRound(Long userId, UUID seasonId, int orderNumber);
+
+  /**
+   * Removes all but the latest updated prediction of the user for the same match.
+   */
+  @Modifying
+  @Query(value = "delete from predictions p using predictions newer WHERE p.user_id = newer.user_id and p.match_id = newer.match_id "
+      + "and (coalesce(p.updated_at, '-infinity') < coalesce(newer.updated_at, '-infinity') "
+      + "or (coalesce(p.updated_at, '-infinity') = coalesce(newer.updated_at, '-infinity') and p.id < newer.id))", nativeQuery = true)
+  int deleteDuplicates();
+
+  @Query(value = "select count(*) > 0 from pg_constraint WHERE conname = 'uk_predictions_user_match'", nativeQuery = true)
+  boolean existsUniqueConstraint();
+
+  @Modifying
+  @Query(value = "alter table predictions add constraint uk_predictions_user_match unique (user_id, match_id)", nativeQuery = true)
+  void addUniqueConstraint();
+
+}
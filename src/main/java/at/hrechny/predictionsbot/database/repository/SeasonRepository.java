@@ -4,6 +4,9 @@ import at.hrechny.predictionsbot.database.entity.SeasonEntity;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,10 +15,21 @@ public interface SeasonRepository extends ListCrudRepository<SeasonEntity, UUID>
 
   List<SeasonEntity> findAllByActiveIsTrue();
 
+  @EntityGraph(attributePaths = { "competition", "rounds" })
+  Optional<SeasonEntity> findWithRoundsById(UUID id);
+
   List<SeasonEntity> findAllByCompetitionId(UUID competitionId);
 
   Optional<SeasonEntity> findFirstByCompetitionIdAndActiveIsTrue(UUID competitionId);
 
   int countAllByActiveIsTrueAndCompetitionId(UUID competitionId);
 
+  @Modifying
+  @Query("update SeasonEntity s set s.standingsBuilt = false, s.standingsVersion = s.standingsVersion + 1 WHERE s.id = :seasonId")
+  void markStandingsStale(UUID seasonId);
+
+  @Modifying
+  @Query("update SeasonEntity s set s.standingsBuilt = true WHERE s.id = :seasonId and s.standingsVersion = :standingsVersion")
+  int markStandingsBuilt(UUID seasonId, int standingsVersion);
+
 }
@@ -0,0 +1,25 @@
+package at.hrechny.predictionsbot.database.repository;
+
+import at.hrechny.predictionsbot.database.entity.StandingEntity;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StandingRepository extends CrudRepository<StandingEntity, UUID> {
+
+  List<StandingEntity> findAllBySeasonId(UUID seasonId);
+
+  @Query("select s.user.id from StandingEntity s WHERE s.season.id = :seasonId")
+  Set<Long> findAllUserIdsBySeasonId(UUID seasonId);
+
+  @Modifying
+  @Query("update StandingEntity s set s.predictions = s.predictions + :predictions, s.guessed = s.guessed + :guessed, s.sum = s.sum + :sum "
+      + "WHERE s.season.id = :seasonId and s.user.id = :userId")
+  void addDelta(UUID seasonId, Long userId, int predictions, int guessed, int sum);
+
+}
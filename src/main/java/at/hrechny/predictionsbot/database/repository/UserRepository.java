@@ -1,9 +1,13 @@
 package at.hrechny.predictionsbot.database.repository;
 
 import at.hrechny.predictionsbot.database.entity.UserEntity;
+import jakarta.persistence.LockModeType;
+import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
@@ -13,9 +17,22 @@ public interface UserRepository extends CrudRepository<UserEntity, Long> {
 
   Optional<UserEntity> findByIdAndActiveIsTrue(Long id);
 
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("select u from UserEntity u WHERE u.id = :id and u.active = true")
+  Optional<UserEntity> findActiveForUpdate(Long id);
+
   List<UserEntity> findAllByActiveIsTrue();
 
   @Query("select u from UserEntity u JOIN u.competitions c WHERE u.active = true and c.id = :competitionId")
   List<UserEntity> findAllActiveByCompetitionsId(UUID competitionId);
 
+  @Query("select distinct u from UserEntity u JOIN FETCH u.competitions WHERE u.active = true")
+  List<UserEntity> findAllActiveWithCompetitions();
+
+  @Query("select distinct u from UserEntity u JOIN FETCH u.competitions WHERE u.active = true and u.timezone in :timezones")
+  List<UserEntity> findAllActiveWithCompetitionsByTimezoneIn(Collection<ZoneId> timezones);
+
+  @Query("select distinct u.timezone from UserEntity u WHERE u.active = true")
+  List<ZoneId> findAllActiveTimezones();
+
 }
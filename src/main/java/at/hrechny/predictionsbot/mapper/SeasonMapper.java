@@ -16,11 +16,15 @@ public interface SeasonMapper {
 
   @Mapping(target = "rounds", ignore = true)
   @Mapping(target = "competition", ignore = true)
+  @Mapping(target = "standingsBuilt", ignore = true)
+  @Mapping(target = "standingsVersion", ignore = true)
   void updateEntity(@MappingTarget SeasonEntity entity, Season model);
 
   @Mapping(target = "id", source = "season.id")
   @Mapping(target = "competition", source = "competition")
   @Mapping(target = "rounds", ignore = true)
+  @Mapping(target = "standingsBuilt", ignore = true)
+  @Mapping(target = "standingsVersion", ignore = true)
   SeasonEntity modelToEntity(CompetitionEntity competition, Season season);
 
 }
@@ -3,13 +3,16 @@ package at.hrechny.predictionsbot.mapper;
 import at.hrechny.predictionsbot.config.MapperConfig;
 import at.hrechny.predictionsbot.database.entity.UserEntity;
 import at.hrechny.predictionsbot.model.User;
+import at.hrechny.predictionsbot.model.UserProfile;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(config = MapperConfig.class)
+@Mapper(config = MapperConfig.class, uses = CompetitionMapper.class)
 public interface UserMapper {
 
   @Mapping(target = "name", source = "username")
   User entityToModel(UserEntity source);
 
+  UserProfile entityToProfile(UserEntity source);
+
 }
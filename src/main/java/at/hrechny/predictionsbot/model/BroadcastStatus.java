@@ -0,0 +1,26 @@
+package at.hrechny.predictionsbot.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class BroadcastStatus {
+
+  private UUID id;
+
+  private String name;
+
+  private int total;
+
+  private int sent;
+
+  private int failed;
+
+  private boolean finished;
+
+  private Instant startedAt;
+
+  private Instant finishedAt;
+
+}
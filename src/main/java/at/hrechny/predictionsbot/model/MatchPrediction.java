@@ -0,0 +1,37 @@
+package at.hrechny.predictionsbot.model;
+
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Match of the round together with the prediction of a single user. Prediction fields are null if the user has not predicted the match yet.
+ */
+@Data
+@AllArgsConstructor
+public class MatchPrediction {
+
+  private UUID id;
+
+  private Instant startTime;
+
+  private String homeTeamLogoUrl;
+
+  private String awayTeamLogoUrl;
+
+  private Integer predictionHome;
+
+  private Integer predictionAway;
+
+  private Boolean doubleUp;
+
+  public boolean isPredicted() {
+    return predictionHome != null && predictionAway != null;
+  }
+
+  public boolean isDoubled() {
+    return Boolean.TRUE.equals(doubleUp);
+  }
+
+}
@@ -0,0 +1,35 @@
+package at.hrechny.predictionsbot.model;
+
+import lombok.Data;
+
+@Data
+public class MessageQueueMetrics {
+
+  /**
+   * Requests waiting in the queue to be sent.
+   */
+  private long queued;
+
+  /**
+   * Requests being sent at the moment, both queued and synchronous.
+   */
+  private long inFlight;
+
+  private long sent;
+
+  /**
+   * Responses with 429 Too Many Requests.
+   */
+  private long throttled;
+
+  /**
+   * Requests rejected by Telegram with an error other than 429, e.g. 403 if the bot is blocked by the user.
+   */
+  private long failed;
+
+  /**
+   * Requests given up after all attempts have been throttled.
+   */
+  private long dropped;
+
+}
@@ -0,0 +1,23 @@
+package at.hrechny.predictionsbot.model;
+
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Locale;
+import lombok.Data;
+
+@Data
+public class UserProfile {
+
+  private Long id;
+
+  private String username;
+
+  private Locale language;
+
+  private Locale initialLanguage;
+
+  private ZoneId timezone;
+
+  private List<Competition> competitions;
+
+}
@@ -24,16 +24,24 @@ import at.hrechny.predictionsbot.mapper.SeasonMapper;
 import at.hrechny.predictionsbot.model.Competition;
 import at.hrechny.predictionsbot.model.Season;
 import jakarta.transaction.Transactional;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -42,6 +50,8 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CompetitionService {
 
+  private static final Pattern ROUND_NUMBER_PATTERN = Pattern.compile("^(.+) - (\\d+)$");
+
   private final SeasonMapper seasonMapper;
   private final SeasonRepository seasonRepository;
   private final CompetitionMapper competitionMapper;
@@ -49,6 +59,8 @@ public class CompetitionService {
   private final TeamRepository teamRepository;
   private final MatchRepository matchRepository;
   private final ApiFootballConnector apiFootballConnector;
+  private final StandingsService standingsService;
+  private final ApplicationEventPublisher eventPublisher;
 
   public UUID addCompetition(Competition competition) {
     log.info("Adding the new competition: {}", competition);
@@ -70,6 +82,7 @@ public class CompetitionService {
     return competitionList;
   }
 
+  @CacheEvict(value = UserService.USER_PROFILES_CACHE, allEntries = true)
   public UUID addSeason(UUID competitionId, Season season) {
     log.info("Adding the new season for the competition {}: {}", competitionId, season);
     CompetitionEntity competitionEntity = competitionRepository.findById(competitionId)
@@ -83,6 +96,7 @@ public class CompetitionService {
     return seasonEntity.getId();
   }
 
+  @CacheEvict(value = UserService.USER_PROFILES_CACHE, allEntries = true)
   public void updateSeason(UUID competitionId, Season season) {
     log.info("Updating the season {} for the competition {}", season.getId(), competitionId);
     var seasonEntity = seasonRepository.findById(season.getId()).orElse(null);
@@ -98,7 +112,7 @@ public class CompetitionService {
   }
 
   public SeasonEntity getSeason(UUID seasonId) {
-    return seasonRepository.findById(seasonId).orElseThrow(() -> new NotFoundException("Season " + seasonId + " not found"));
+    return seasonRepository.findWithRoundsById(seasonId).orElseThrow(() -> new NotFoundException("Season " + seasonId + " not found"));
   }
 
   public List<Season> getSeasons(UUID competitionId) {
@@ -121,6 +135,12 @@ public class CompetitionService {
     return matchRepository.findAllByStartTimeAfterAndStartTimeBeforeOrderByStartTimeAsc(from, to);
   }
 
+  public List<MatchEntity> getMatches(Collection<UUID> matchIds) {
+    var matches = new ArrayList<MatchEntity>();
+    matchRepository.findAllById(matchIds).forEach(matches::add);
+    return matches;
+  }
+
   public RoundEntity getRound(UUID competitionId, Integer orderNumber) {
     var season = getCurrentSeason(competitionId);
     return season.getRounds().stream().filter(roundEntity -> orderNumber.equals(roundEntity.getOrderNumber())).findFirst().orElse(null);
@@ -131,23 +151,57 @@ public class CompetitionService {
     return seasonRepository.findAllByActiveIsTrue();
   }
 
-  public void refreshActiveFixtures(UUID seasonId) {
-    var seasonEntity = getSeason(seasonId);
-    var activeMatches = matchRepository.findAllActive(seasonEntity);
+  /**
+   * Refreshes the live matches of all active seasons with the single set of API-Football requests.
+   * Nothing is requested if no match is started or has kicked off within the grace period.
+   */
+  public void refreshActiveFixtures(Duration kickoffGrace) {
+    var activeMatches = matchRepository.findAllLive(kickoffGrace);
     if (activeMatches.isEmpty()) {
       return;
     }
 
-    var fixturesIds = new ArrayList<Long>();
-    activeMatches.forEach(match -> fixturesIds.add(match.getApiFootballId()));
+    var fixturesIds = activeMatches.stream().map(MatchEntity::getApiFootballId).toList();
     try {
-      var fixtures = apiFootballConnector.getFixtures(fixturesIds);
-      refreshFixtures(fixtures, seasonEntity);
+      var fixtures = apiFootballConnector.getFixtures(fixturesIds).stream()
+          .collect(Collectors.toMap(fixture -> fixture.getFixture().getId(), Function.identity(), (first, second) -> first));
+      activeMatches.stream()
+          .collect(Collectors.groupingBy(match -> match.getRound().getSeason()))
+          .forEach((seasonEntity, matches) -> refreshFixtures(matches.stream()
+              .map(match -> fixtures.get(match.getApiFootballId()))
+              .filter(Objects::nonNull)
+              .toList(), seasonEntity));
     } catch (ApiFootballConnectorException ex) {
       log.error("Failed to refresh fixtures: {}", ex.getMessage());
     }
   }
 
+  /**
+   * Requests all fixtures of the season from API-Football. Unlike {@link #refreshFixtures(SeasonEntity)} failures are not suppressed.
+   */
+  public List<Fixture> fetchFixtures(UUID seasonId) {
+    var seasonEntity = seasonRepository.findById(seasonId).orElseThrow(() -> new NotFoundException("Season " + seasonId + " not found"));
+    return apiFootballConnector.getFixtures(seasonEntity.getCompetition().getApiFootballId(), seasonEntity.getYear());
+  }
+
+  /**
+   * Stores the teams of the fixtures of several seasons at once, so that the teams shared between the seasons are not created concurrently.
+   */
+  public void refreshTeams(List<Fixture> fixtures) {
+    if (!fixtures.isEmpty()) {
+      upsertTeams(fixtures);
+    }
+  }
+
+  /**
+   * Refreshes the season with the fixtures fetched by {@link #fetchFixtures(UUID)}.
+   */
+  public void refreshFixtures(UUID seasonId, List<Fixture> fixtures) {
+    var seasonEntity = seasonRepository.findWithRoundsById(seasonId).orElseThrow(() -> new NotFoundException("Season " + seasonId + " not found"));
+    log.info("Start refreshing fixtures data for the season {}", seasonId);
+    refreshFixtures(fixtures, seasonEntity);
+  }
+
   public void refreshFixtures(SeasonEntity seasonEntity) {
     log.info("Start refreshing fixtures data for the season {}", seasonEntity.getId());
     try {
@@ -159,31 +213,47 @@ public class CompetitionService {
   }
 
   private void refreshFixtures(List<Fixture> fixtures, SeasonEntity seasonEntity) {
-    var rounds = seasonEntity.getRounds();
-    var matches = rounds.stream().flatMap(round -> round.getMatches().stream()).toList();
-
-    fixtures.forEach(fixture -> {
+    var teams = upsertTeams(fixtures);
+    var roundsByApiFootballId = getRoundsByApiFootballId(seasonEntity);
+    var matchesByApiFootballId = seasonEntity.getRounds().stream()
+        .flatMap(round -> round.getMatches().stream())
+        .collect(Collectors.toMap(MatchEntity::getApiFootballId, Function.identity(), (first, second) -> first));
+
+    var updatedMatches = 0;
+    var scheduleChanged = false;
+    for (var fixture : fixtures) {
       var fixtureData = fixture.getFixture();
       var score = fixture.getScore().getFulltime().getHome() != null ? fixture.getScore().getFulltime() : fixture.getGoals();
-      var roundList = getRound(rounds, fixture.getLeague().getRound());
+      var roundList = roundsByApiFootballId.getOrDefault(fixture.getLeague().getRound(), List.of());
       if (roundList.isEmpty()) {
         refreshRounds(seasonEntity);
-        roundList = getRound(rounds, fixture.getLeague().getRound());
+        roundsByApiFootballId = getRoundsByApiFootballId(seasonEntity);
+        roundList = roundsByApiFootballId.getOrDefault(fixture.getLeague().getRound(), List.of());
       }
 
-      MatchEntity matchEntity;
-      var existingMatchEntity = matches.stream().filter(match -> match.getApiFootballId().equals(fixtureData.getId())).findFirst();
-      if (existingMatchEntity.isPresent()) {
-        matchEntity = existingMatchEntity.get();
-      } else {
+      var matchEntity = matchesByApiFootballId.get(fixtureData.getId());
+      if (matchEntity == null) {
         matchEntity = new MatchEntity();
         matchEntity.setApiFootballId(fixtureData.getId());
-        matchEntity.setHomeTeam(getTeamEntity(fixture.getTeams().getHome()));
-        matchEntity.setAwayTeam(getTeamEntity(fixture.getTeams().getAway()));
+        matchEntity.setHomeTeam(teams.get(fixture.getTeams().getHome().getId()));
+        matchEntity.setAwayTeam(teams.get(fixture.getTeams().getAway().getId()));
+        matchesByApiFootballId.put(fixtureData.getId(), matchEntity);
       }
 
-      // update round if needed
       var round = getRound(roundList, matchEntity.getHomeTeam(), matchEntity.getAwayTeam());
+      var status = mapStatus(fixtureData.getStatus());
+      var startTime = fixtureData.getDate() != null && status != MatchStatus.NOT_DEFINED ? fixtureData.getDate().toInstant() : null;
+
+      // skip the match if nothing has been changed
+      if (matchEntity.getRound() == round
+          && status == matchEntity.getStatus()
+          && Objects.equals(score.getHome(), matchEntity.getHomeTeamScore())
+          && Objects.equals(score.getAway(), matchEntity.getAwayTeamScore())
+          && Objects.equals(startTime, matchEntity.getStartTime())) {
+        continue;
+      }
+
+      // update round if needed
       if (matchEntity.getRound() == null) {
         matchEntity.setRound(round);
         round.getMatches().add(matchEntity);
@@ -193,18 +263,34 @@ public class CompetitionService {
         round.getMatches().add(matchEntity);
       }
 
+      if (matchEntity.getId() == null || !Objects.equals(startTime, matchEntity.getStartTime())) {
+        scheduleChanged = true;
+      }
+
       // update match status and results
+      var previousStatus = matchEntity.getStatus();
+      var previousHomeScore = matchEntity.getHomeTeamScore();
+      var previousAwayScore = matchEntity.getAwayTeamScore();
       matchEntity.setHomeTeamScore(score.getHome());
       matchEntity.setAwayTeamScore(score.getAway());
-      matchEntity.setStatus(mapStatus(fixture.getFixture().getStatus()));
-      if (fixtureData.getDate() != null && matchEntity.getStatus() != MatchStatus.NOT_DEFINED) {
-        matchEntity.setStartTime(fixtureData.getDate().toInstant());
-      } else {
-        matchEntity.setStartTime(null);
+      matchEntity.setStatus(status);
+      matchEntity.setStartTime(startTime);
+      if (previousStatus != matchEntity.getStatus()
+          || !Objects.equals(previousHomeScore, matchEntity.getHomeTeamScore())
+          || !Objects.equals(previousAwayScore, matchEntity.getAwayTeamScore())) {
+        matchEntity.setScoreVersion(matchEntity.getScoreVersion() != null ? matchEntity.getScoreVersion() + 1 : 1);
+        standingsService.updateStandings(matchEntity, previousStatus, previousHomeScore, previousAwayScore);
       }
-    });
-    seasonRepository.save(seasonEntity);
-    log.info("Fixtures have been successfully updated for the season {}", seasonEntity.getId());
+      updatedMatches++;
+    }
+
+    if (updatedMatches > 0) {
+      seasonRepository.save(seasonEntity);
+    }
+    if (scheduleChanged) {
+      eventPublisher.publishEvent(new FixturesChangedEvent(seasonEntity.getId()));
+    }
+    log.info("Fixtures have been successfully updated for the season {}: {} of {} matches changed", seasonEntity.getId(), updatedMatches, fixtures.size());
   }
 
   private MatchStatus mapStatus(Status status) {
@@ -220,32 +306,37 @@ public class CompetitionService {
     };
   }
 
-  private TeamEntity getTeamEntity(Team team) {
-    var teamEntityOptional = teamRepository.findFirstByApiFootballId(team.getId());
-    if (teamEntityOptional.isPresent()) {
-      var teamEntity = teamEntityOptional.get();
-      // if no changes for the team detected, return the existing entity, otherwise update it
-      if (Objects.equals(teamEntity.getName(), team.getName()) && Objects.equals(teamEntity.getLogoUrl(), team.getLogo())) {
-        return teamEntity;
+  /**
+   * Builds the directory of the teams taking part in the fixtures, keyed by API-Football ID.
+   * Teams are loaded with a single query, new and renamed teams are stored in one batch.
+   */
+  private Map<Long, TeamEntity> upsertTeams(List<Fixture> fixtures) {
+    var actualTeams = fixtures.stream()
+        .flatMap(fixture -> Stream.of(fixture.getTeams().getHome(), fixture.getTeams().getAway()))
+        .collect(Collectors.toMap(Team::getId, Function.identity(), (first, second) -> first));
+
+    var teams = teamRepository.findAllByApiFootballIdIn(actualTeams.keySet()).stream()
+        .collect(Collectors.toMap(TeamEntity::getApiFootballId, Function.identity()));
+
+    var changedTeams = new ArrayList<TeamEntity>();
+    actualTeams.values().forEach(team -> {
+      var teamEntity = teams.get(team.getId());
+      if (teamEntity == null) {
+        teamEntity = new TeamEntity();
+        teamEntity.setApiFootballId(team.getId());
+      } else if (Objects.equals(teamEntity.getName(), team.getName()) && Objects.equals(teamEntity.getLogoUrl(), team.getLogo())) {
+        return;
       }
       teamEntity.setName(team.getName());
       teamEntity.setLogoUrl(team.getLogo());
-      teamEntity = teamRepository.save(teamEntity);
-      log.info("Team {} has been updated: {}", teamEntity.getName(), teamEntity.getId());
-      return teamEntity;
-    } else {
-        return createTeam(team);
-    }
-  }
+      changedTeams.add(teamEntity);
+    });
 
-  private TeamEntity createTeam(Team team) {
-    var teamEntity = new TeamEntity();
-    teamEntity.setName(team.getName());
-    teamEntity.setApiFootballId(team.getId());
-    teamEntity.setLogoUrl(team.getLogo());
-    teamEntity = teamRepository.save(teamEntity);
-    log.info("New team {} has been created: {}", teamEntity.getName(), teamEntity.getId());
-    return teamEntity;
+    if (!changedTeams.isEmpty()) {
+      teamRepository.saveAll(changedTeams).forEach(teamEntity -> teams.put(teamEntity.getApiFootballId(), teamEntity));
+      log.info("{} teams have been created or updated", changedTeams.size());
+    }
+    return teams;
   }
 
   private void validateActiveSeasons(UUID competitionId, Season season) {
@@ -262,8 +353,9 @@ public class CompetitionService {
     var roundEntities = seasonEntity.getRounds();
     var lastRound = roundEntities.stream().max(Comparator.comparingInt(RoundEntity::getOrderNumber)).orElse(null);
     AtomicInteger nextOrderNumber = new AtomicInteger(lastRound != null ? lastRound.getOrderNumber() + 1 : 1);
+    var existingRounds = roundEntities.stream().map(RoundEntity::getApiFootballId).collect(Collectors.toSet());
     for (var round : actualRounds) {
-      if (roundEntities.stream().noneMatch(roundEntity -> roundEntity.getApiFootballId().equals(round))) {
+      if (!existingRounds.contains(round)) {
         RoundType.getByAlias(round).forEach(roundType -> {
           var roundEntity = new RoundEntity();
           roundEntity.setType(roundType);
@@ -277,15 +369,15 @@ public class CompetitionService {
   }
 
   private int getOrderNumber(String roundName, RoundType roundType, AtomicInteger nextOrderNumber) {
-    var pattern = Pattern.compile("^(.+) - (\\d+)$").matcher(roundName);
-    if (pattern.matches()) {
-      return Integer.parseInt(pattern.group(2));
+    var matcher = ROUND_NUMBER_PATTERN.matcher(roundName);
+    if (matcher.matches()) {
+      return Integer.parseInt(matcher.group(2));
     }
     return roundType == RoundType.QUALIFYING ? 0 : nextOrderNumber.getAndIncrement();
   }
 
-  private List<RoundEntity> getRound(List<RoundEntity> rounds, String apiFootballId) {
-    return rounds.stream().filter(roundEntity -> roundEntity.getApiFootballId().equals(apiFootballId)).toList();
+  private Map<String, List<RoundEntity>> getRoundsByApiFootballId(SeasonEntity seasonEntity) {
+    return seasonEntity.getRounds().stream().collect(Collectors.groupingBy(RoundEntity::getApiFootballId));
   }
 
   private RoundEntity getRound(List<RoundEntity> roundList, TeamEntity homeTeam, TeamEntity awayTeam) {
@@ -0,0 +1,16 @@
+package at.hrechny.predictionsbot.service.predictor;
+
+import java.util.UUID;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Published when matches of the season have been added or their start time has been changed.
+ */
+@Getter
+@RequiredArgsConstructor
+public class FixturesChangedEvent {
+
+  private final UUID seasonId;
+
+}
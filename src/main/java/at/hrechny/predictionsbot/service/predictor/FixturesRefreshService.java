@@ -0,0 +1,71 @@
+package at.hrechny.predictionsbot.service.predictor;
+
+import at.hrechny.predictionsbot.connector.apifootball.model.Fixture;
+import at.hrechny.predictionsbot.database.entity.SeasonEntity;
+import at.hrechny.predictionsbot.exception.FixturesSynchronizationException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Refreshes the fixtures of all active seasons in parallel.
+ * Fixtures are fetched first, then the teams of all seasons are stored at once.
+ * Every season is refreshed in its own transaction, so a failure or a slow league does not affect the others.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FixturesRefreshService {
+
+  private final CompetitionService competitionService;
+  private final TaskExecutor fixturesExecutor;
+
+  public void refreshActiveSeasons() {
+    var seasonIds = competitionService.getActiveSeasons().stream().map(SeasonEntity::getId).toList();
+    var startTime = System.currentTimeMillis();
+    Map<UUID, String> failures = new ConcurrentHashMap<>();
+
+    Map<UUID, List<Fixture>> fixtures = new ConcurrentHashMap<>();
+    runForSeasons(seasonIds, "fetching fixtures of", seasonId -> fixtures.put(seasonId, competitionService.fetchFixtures(seasonId)), failures);
+
+    // teams shared by several seasons (e.g. a league and a cup) must be created once, before the seasons are refreshed concurrently
+    competitionService.refreshTeams(fixtures.values().stream().flatMap(List::stream).toList());
+    runForSeasons(fixtures.keySet(), "refreshing fixtures of", seasonId -> competitionService.refreshFixtures(seasonId, fixtures.get(seasonId)), failures);
+
+    log.info("Fixtures of {} seasons have been refreshed in {} ms, {} failed",
+        seasonIds.size(), System.currentTimeMillis() - startTime, failures.size());
+    if (!failures.isEmpty()) {
+      throw new FixturesSynchronizationException("Failed to refresh fixtures of " + failures.size() + " seasons: " + failures.entrySet().stream()
+          .map(failure -> failure.getKey() + " (" + failure.getValue() + ")")
+          .collect(Collectors.joining(", ")));
+    }
+  }
+
+  private void runForSeasons(Collection<UUID> seasonIds, String action, Consumer<UUID> task, Map<UUID, String> failures) {
+    var tasks = seasonIds.stream()
+        .map(seasonId -> CompletableFuture.runAsync(() -> runForSeason(seasonId, action, task, failures), fixturesExecutor))
+        .toArray(CompletableFuture[]::new);
+    CompletableFuture.allOf(tasks).join();
+  }
+
+  private void runForSeason(UUID seasonId, String action, Consumer<UUID> task, Map<UUID, String> failures) {
+    var startTime = System.currentTimeMillis();
+    try {
+      task.accept(seasonId);
+      log.info("Finished {} the season {} in {} ms", action, seasonId, System.currentTimeMillis() - startTime);
+    } catch (Exception ex) {
+      log.error("Failed {} the season {} after {} ms", action, seasonId, System.currentTimeMillis() - startTime, ex);
+      failures.put(seasonId, ex.getMessage());
+    }
+  }
+
+}
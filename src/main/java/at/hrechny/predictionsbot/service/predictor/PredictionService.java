@@ -3,28 +3,39 @@ package at.hrechny.predictionsbot.service.predictor;
 import at.hrechny.predictionsbot.database.entity.MatchEntity;
 import at.hrechny.predictionsbot.database.entity.PredictionEntity;
 import at.hrechny.predictionsbot.database.entity.RoundEntity;
+import at.hrechny.predictionsbot.database.entity.StandingEntity;
 import at.hrechny.predictionsbot.database.entity.UserEntity;
 import at.hrechny.predictionsbot.database.model.MatchStatus;
 import at.hrechny.predictionsbot.database.repository.MatchRepository;
+import at.hrechny.predictionsbot.database.repository.PredictionRepository;
 import at.hrechny.predictionsbot.exception.NotFoundException;
 import at.hrechny.predictionsbot.exception.RequestValidationException;
 import at.hrechny.predictionsbot.mapper.UserMapper;
+import at.hrechny.predictionsbot.model.MatchPrediction;
 import at.hrechny.predictionsbot.model.Prediction;
 import at.hrechny.predictionsbot.model.Result;
 import at.hrechny.predictionsbot.util.ObjectUtils;
+import at.hrechny.predictionsbot.util.ScoreUtils;
 import jakarta.transaction.Transactional;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.SetUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -35,51 +46,129 @@ public class PredictionService {
 
   private final UserMapper userMapper;
   private final MatchRepository matchRepository;
+  private final PredictionRepository predictionRepository;
   private final CompetitionService competitionService;
   private final UserService userService;
+  private final StandingsService standingsService;
 
   public void savePredictions(Long userId, List<Prediction> predictions) {
     log.info("Saving predictions for the user {}", userId);
-    var user = userService.getUser(userId);
+    // concurrent submissions of the same user are serialized, so that the double up check sees all of them
+    var user = userService.getUserForUpdate(userId);
 
     if (CollectionUtils.isEmpty(predictions)) {
       log.warn("No predictions found to save");
       return;
     }
 
-    var predictionEntities = new ArrayList<PredictionEntity>();
-    predictions.forEach(prediction -> {
-      var matchEntity = matchRepository.findById(prediction.getMatchId())
-          .orElseThrow(() -> new NotFoundException("Match with id " + prediction.getMatchId() + " not found"));
+    var matchIds = predictions.stream().map(Prediction::getMatchId).collect(Collectors.toSet());
+    var matches = new HashMap<UUID, MatchEntity>();
+    matchRepository.findAllById(matchIds).forEach(matchEntity -> matches.put(matchEntity.getId(), matchEntity));
+    matchIds.stream().filter(matchId -> !matches.containsKey(matchId)).findFirst().ifPresent(matchId -> {
+      throw new NotFoundException("Match with id " + matchId + " not found");
+    });
 
-      if (matchEntity.getStartTime() != null && Instant.now().isAfter(matchEntity.getStartTime())) {
+    var now = Instant.now();
+    var openPredictions = predictions.stream().filter(prediction -> {
+      var matchEntity = matches.get(prediction.getMatchId());
+      if (matchEntity.getStartTime() != null && now.isAfter(matchEntity.getStartTime())) {
         log.warn("Not possible to save prediction for the match {} - match already started", matchEntity.getId());
-        return;
+        return false;
       }
+      return true;
+    }).toList();
+
+    if (openPredictions.isEmpty()) {
+      log.warn("No predictions saved");
+      return;
+    }
+
+    var round = validateRound(openPredictions.stream().map(prediction -> matches.get(prediction.getMatchId())).toList());
+    var roundPredictions = getRoundPredictions(userId, round);
 
-      var predictionEntity = matchEntity.getPrediction(userId).orElseGet(() -> createPredictionEntity(user, matchEntity));
+    var predictionEntities = new ArrayList<PredictionEntity>();
+    openPredictions.forEach(prediction -> {
+      var matchEntity = matches.get(prediction.getMatchId());
+      var predictionEntity = roundPredictions.computeIfAbsent(matchEntity.getId(), matchId -> createPredictionEntity(user, matchEntity));
 
       predictionEntity.setPredictionHome(prediction.getPredictionHome());
       predictionEntity.setPredictionAway(prediction.getPredictionAway());
       predictionEntity.setDoubleUp(prediction.isDoubleUp());
-      predictionEntity.setUpdatedAt(Instant.now());
+      predictionEntity.setUpdatedAt(now);
 
       predictionEntities.add(predictionEntity);
-      matchRepository.save(matchEntity);
     });
 
-    if (CollectionUtils.isEmpty(predictionEntities)) {
-      log.warn("No predictions saved");
-    } else {
-      validatePredictions(userId, predictionEntities);
-      log.info("All predictions for the user {} have been successfully saved", userId);
+    predictionRepository.saveAll(predictionEntities);
+    validateDoubleUp(userId, round);
+    log.info("All predictions for the user {} have been successfully saved", userId);
+  }
+
+  /**
+   * Creates the unique (user, match) constraint if the schema update could not create it because of the duplicated predictions.
+   * All but the latest updated prediction of the user for the same match are removed first.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void enforceUniquePredictions() {
+    if (predictionRepository.existsUniqueConstraint()) {
+      return;
     }
+
+    var removed = predictionRepository.deleteDuplicates();
+    predictionRepository.addUniqueConstraint();
+    log.warn("Unique constraint of the predictions has been created, {} duplicated predictions have been removed", removed);
+  }
+
+  public List<PredictionEntity> getPredictions(Collection<UUID> matchIds) {
+    return predictionRepository.findAllByMatchIdIn(matchIds);
+  }
+
+  /**
+   * Matches of the round with the predictions of the given user only. Predictions of the other users are not loaded.
+   */
+  public List<MatchPrediction> getPredictions(UUID seasonId, int roundOrderNumber, Long userId) {
+    return matchRepository.findAllPredictionsOfRound(seasonId, roundOrderNumber, userId);
   }
 
   public List<Result> getResults(UUID seasonId) {
     var season = competitionService.getSeason(seasonId);
-    var matches = season.getRounds().stream().flatMap(roundEntity -> roundEntity.getMatches().stream()).toList();
-    return getResults(matches);
+    if (!season.isStandingsBuilt()) {
+      try {
+        standingsService.rebuildStandings(seasonId);
+      } catch (DataIntegrityViolationException | OptimisticLockingFailureException ex) {
+        log.warn("Standings for the season {} have been changed concurrently: {}", seasonId, ex.getMessage());
+      }
+    }
+    var standings = standingsService.getStandings(seasonId);
+
+    var finished = standings.stream()
+        .filter(standing -> standing.getPredictions() > 0)
+        .collect(Collectors.toMap(StandingEntity::getUser, Function.identity()));
+
+    var predictionsLive = matchRepository.findAllByRoundSeasonAndStatus(season, MatchStatus.STARTED).stream()
+        .flatMap(match -> match.getPredictions().stream())
+        .collect(Collectors.groupingBy(PredictionEntity::getUser));
+
+    var results = new ArrayList<Result>();
+    for (var user : SetUtils.union(finished.keySet(), predictionsLive.keySet())) {
+      var standing = finished.get(user);
+      var result = new Result();
+      result.setUser(userMapper.entityToModel(user));
+      result.setPredictions(standing != null ? standing.getPredictions() : 0);
+      result.setGuessed(standing != null ? standing.getGuessed() : 0);
+      result.setSum(standing != null ? standing.getSum() : 0);
+      setLiveResults(result, predictionsLive.get(user));
+      results.add(result);
+    }
+    return results.stream().sorted(Comparator.comparingInt(Result::getTotalSum).reversed()).toList();
+  }
+
+  /**
+   * Results of the single match. Cached by the score version which is increased on every change of the match status or score.
+   */
+  @Cacheable(value = "match-results", key = "#match.id + ':' + #match.scoreVersion")
+  public List<Result> getMatchResults(MatchEntity match) {
+    return getResults(List.of(match));
   }
 
   public List<Result> getResults(List<MatchEntity> matches) {
@@ -100,36 +189,28 @@ public class PredictionService {
       result.setPredictions(predictions.get(user) != null ? predictions.get(user).size() : 0);
       result.setGuessed(calculateGuessed(predictions.get(user)));
       result.setSum(calculateResults(predictions.get(user)));
-      if (CollectionUtils.isNotEmpty(predictionsLive.get(user))) {
-        result.setPredictionsLive(predictionsLive.get(user).size());
-        result.setGuessedLive(calculateGuessed(predictionsLive.get(user)));
-        result.setLiveSum(calculateResults(predictionsLive.get(user)));
-      }
+      setLiveResults(result, predictionsLive.get(user));
       results.add(result);
     }
     return results.stream().sorted(Comparator.comparingInt(Result::getTotalSum).reversed()).toList();
   }
 
+  private void setLiveResults(Result result, List<PredictionEntity> predictionsLive) {
+    if (CollectionUtils.isNotEmpty(predictionsLive)) {
+      result.setPredictionsLive(predictionsLive.size());
+      result.setGuessedLive(calculateGuessed(predictionsLive));
+      result.setLiveSum(calculateResults(predictionsLive));
+    }
+  }
+
   private Integer calculateGuessed(List<PredictionEntity> predictionEntities) {
     if (CollectionUtils.isEmpty(predictionEntities)) {
       return 0;
     }
 
-    AtomicInteger sum = new AtomicInteger();
-    predictionEntities.forEach(prediction -> {
-      var match = prediction.getMatch();
-
-      //draw hit
-      if (match.getHomeTeamScore() - match.getAwayTeamScore() == prediction.getPredictionHome() - prediction.getPredictionAway()) {
-        sum.incrementAndGet();
-      //winner hit
-      } else if (match.getHomeTeamScore() > match.getAwayTeamScore() && prediction.getPredictionHome() > prediction.getPredictionAway()) {
-        sum.incrementAndGet();
-      } else if (match.getHomeTeamScore() < match.getAwayTeamScore() && prediction.getPredictionHome() < prediction.getPredictionAway()) {
-        sum.incrementAndGet();
-      }
-    });
-    return sum.intValue();
+    return (int) predictionEntities.stream()
+        .filter(prediction -> ScoreUtils.isGuessed(prediction.getMatch().getHomeTeamScore(), prediction.getMatch().getAwayTeamScore(), prediction))
+        .count();
   }
 
   private Integer calculateResults(List<PredictionEntity> predictionEntities) {
@@ -137,48 +218,23 @@ public class PredictionService {
       return 0;
     }
 
-    AtomicInteger sum = new AtomicInteger();
-    predictionEntities.forEach(prediction -> {
-      int result = 0;
-      var match = prediction.getMatch();
-
-      //exact hit
-      if (match.getHomeTeamScore().equals(prediction.getPredictionHome()) && match.getAwayTeamScore().equals(prediction.getPredictionAway())) {
-        result = 5;
-      //difference hit
-      } else if (match.getHomeTeamScore() - match.getAwayTeamScore() == prediction.getPredictionHome() - prediction.getPredictionAway()) {
-        result = 3;
-      //winner hit (home)
-      } else if (match.getHomeTeamScore() > match.getAwayTeamScore() && prediction.getPredictionHome() > prediction.getPredictionAway()) {
-        result = 2;
-      //winner hit (away)
-      } else if (match.getHomeTeamScore() < match.getAwayTeamScore() && prediction.getPredictionHome() < prediction.getPredictionAway()) {
-        result = 2;
-      }
-
-      if (prediction.isDoubleUp()) {
-        result *= 2;
-      }
-
-      sum.addAndGet(result);
-    });
-
-    return sum.intValue();
+    return predictionEntities.stream()
+        .mapToInt(prediction -> ScoreUtils.getPoints(prediction.getMatch().getHomeTeamScore(), prediction.getMatch().getAwayTeamScore(), prediction))
+        .sum();
   }
 
   private PredictionEntity createPredictionEntity(UserEntity user, MatchEntity matchEntity) {
     var predictionEntity = new PredictionEntity();
     predictionEntity.setUser(user);
     predictionEntity.setMatch(matchEntity);
-    matchEntity.getPredictions().add(predictionEntity);
     return predictionEntity;
   }
 
-  private void validatePredictions(Long userId, Iterable<PredictionEntity> predictions) {
-    var predictionEntities = new ArrayList<PredictionEntity>();
-    predictions.forEach(predictionEntities::add);
-
-    var seasons = predictionEntities.stream().map(prediction -> prediction.getMatch().getRound().getSeason()).distinct().toList();
+  /**
+   * Checks that all matches belong to the same round of the active season and returns this round.
+   */
+  private RoundEntity validateRound(List<MatchEntity> matches) {
+    var seasons = matches.stream().map(match -> match.getRound().getSeason()).distinct().toList();
     if (seasons.size() > 1) {
       throw new RequestValidationException("Updating of predictions of different competitions/seasons at once is not supported");
     }
@@ -188,28 +244,38 @@ public class PredictionService {
       throw new RequestValidationException("Season is not active");
     }
 
-    var rounds = predictionEntities.stream().map(prediction -> prediction.getMatch().getRound()).distinct().toList();
+    var rounds = matches.stream().map(MatchEntity::getRound).distinct().toList();
     if (!isSameRound(rounds)) {
       throw new RequestValidationException("Updating of predictions of different rounds at once is not supported");
     }
+    return rounds.get(0);
+  }
 
-    var roundOrderNumber = rounds.get(0).getOrderNumber();
-    var matches = rounds.get(0).getSeason().getRounds().stream()
-        .filter(round -> round.getOrderNumber() == roundOrderNumber)
-        .flatMap(round -> round.getMatches().stream()).toList();
-    matches.forEach(match -> {
-      var predictionsOfMatch = match.getPredictions().stream().filter(prediction -> prediction.getUser().getId().equals(userId));
-      if (predictionsOfMatch.count() > 1) {
-        throw new RequestValidationException("User can not make more than one prediction for the match");
-      }
-    });
+  /**
+   * Existing predictions of the user for all matches of the round, loaded with a single query and indexed by the match ID.
+   * The unique (user, match) constraint allows only one prediction per match. If duplicates were stored before the constraint was created, only the first one is used.
+   */
+  private Map<UUID, PredictionEntity> getRoundPredictions(Long userId, RoundEntity round) {
+    return predictionRepository.findAllOfRound(userId, round.getSeason().getId(), round.getOrderNumber()).stream()
+        .collect(Collectors.toMap(prediction -> prediction.getMatch().getId(), Function.identity(), (first, second) -> {
+          log.warn("Duplicated predictions {} and {} of the user {} for the match {}", first.getId(), second.getId(), userId, first.getMatch().getId());
+          return first;
+        }));
+  }
+
+  /**
+   * Counts the double ups of the user in the round after the predictions are flushed.
+   * Concurrent submissions of the user are checked as well, as they wait for the lock of the user taken by {@link #savePredictions(Long, List)}.
+   */
+  private void validateDoubleUp(Long userId, RoundEntity round) {
+    long doubleUpOfTheRound;
+    try {
+      doubleUpOfTheRound = predictionRepository.countDoubleUpsOfRound(userId, round.getSeason().getId(), round.getOrderNumber());
+    } catch (DataIntegrityViolationException ex) {
+      throw new RequestValidationException("User can not make more than one prediction for the match");
+    }
 
-    var doubleUpOfTheRound = matches.stream()
-        .map(MatchEntity::getPredictions)
-        .flatMap(Collection::stream)
-        .filter(prediction -> prediction.getUser().getId().equals(userId))
-        .filter(PredictionEntity::isDoubleUp);
-    if (doubleUpOfTheRound.count() != 1) {
+    if (doubleUpOfTheRound != 1) {
       throw new RequestValidationException("User has no/more than one double up for for the round");
     }
   }
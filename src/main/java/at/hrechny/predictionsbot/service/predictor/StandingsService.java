@@ -0,0 +1,141 @@
+package at.hrechny.predictionsbot.service.predictor;
+
+import at.hrechny.predictionsbot.database.entity.MatchEntity;
+import at.hrechny.predictionsbot.database.entity.PredictionEntity;
+import at.hrechny.predictionsbot.database.entity.SeasonEntity;
+import at.hrechny.predictionsbot.database.entity.StandingEntity;
+import at.hrechny.predictionsbot.database.entity.UserEntity;
+import at.hrechny.predictionsbot.database.model.MatchStatus;
+import at.hrechny.predictionsbot.database.repository.SeasonRepository;
+import at.hrechny.predictionsbot.database.repository.StandingRepository;
+import at.hrechny.predictionsbot.exception.NotFoundException;
+import at.hrechny.predictionsbot.util.ScoreUtils;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps the running totals of the finished matches for each user of the season.
+ * Totals are built once from the full season and then updated by deltas on every change of a finished match.
+ * The same change of a match can not be applied twice, as concurrent updates of the match fail on its version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StandingsService {
+
+  private final SeasonRepository seasonRepository;
+  private final StandingRepository standingRepository;
+
+  public List<StandingEntity> getStandings(UUID seasonId) {
+    return standingRepository.findAllBySeasonId(seasonId);
+  }
+
+  /**
+   * Builds the standings from the full season, reusing the stored standings if any.
+   * Fails with {@link OptimisticLockingFailureException} if the standings have been marked as stale during the rebuild.
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public void rebuildStandings(UUID seasonId) {
+    log.info("Building standings for the season {}", seasonId);
+    var seasonEntity = seasonRepository.findById(seasonId).orElseThrow(() -> new NotFoundException("Season " + seasonId + " not found"));
+    var standingsVersion = seasonEntity.getStandingsVersion();
+
+    Map<Long, StandingEntity> standings = new HashMap<>();
+    standingRepository.findAllBySeasonId(seasonId).forEach(standing -> {
+      standing.setPredictions(0);
+      standing.setGuessed(0);
+      standing.setSum(0);
+      standings.put(standing.getUser().getId(), standing);
+    });
+
+    seasonEntity.getRounds().stream()
+        .flatMap(roundEntity -> roundEntity.getMatches().stream())
+        .filter(match -> match.getStatus() == MatchStatus.FINISHED)
+        .forEach(match -> match.getPredictions().forEach(prediction -> {
+          var standing = standings.computeIfAbsent(prediction.getUser().getId(), userId -> createStanding(seasonEntity, prediction.getUser()));
+          apply(standing, match.getHomeTeamScore(), match.getAwayTeamScore(), prediction, 1);
+        }));
+
+    standingRepository.saveAll(standings.values());
+    if (seasonRepository.markStandingsBuilt(seasonId, standingsVersion) == 0) {
+      throw new OptimisticLockingFailureException("Standings of the season " + seasonId + " have been changed during the rebuild");
+    }
+    log.info("Standings for the season {} have been built for {} users", seasonId, standings.size());
+  }
+
+  /**
+   * Applies the difference between the previous and the current state of the match to the season standings.
+   * If the standings of the season have not been built yet, they are marked as stale instead, so that a rebuild running concurrently is discarded.
+   */
+  public void updateStandings(MatchEntity match, MatchStatus previousStatus, Integer previousHomeScore, Integer previousAwayScore) {
+    var wasFinished = previousStatus == MatchStatus.FINISHED;
+    var isFinished = match.getStatus() == MatchStatus.FINISHED;
+    if (!wasFinished && !isFinished) {
+      return;
+    }
+
+    if (wasFinished && isFinished
+        && Objects.equals(previousHomeScore, match.getHomeTeamScore())
+        && Objects.equals(previousAwayScore, match.getAwayTeamScore())) {
+      return;
+    }
+
+    if (CollectionUtils.isEmpty(match.getPredictions())) {
+      return;
+    }
+
+    var seasonEntity = match.getRound().getSeason();
+    if (!seasonEntity.isStandingsBuilt()) {
+      seasonRepository.markStandingsStale(seasonEntity.getId());
+      return;
+    }
+
+    var standingUsers = new HashSet<>(standingRepository.findAllUserIdsBySeasonId(seasonEntity.getId()));
+    var newStandings = new ArrayList<StandingEntity>();
+    match.getPredictions().forEach(prediction -> {
+      if (standingUsers.add(prediction.getUser().getId())) {
+        newStandings.add(createStanding(seasonEntity, prediction.getUser()));
+      }
+    });
+    standingRepository.saveAll(newStandings);
+
+    // deltas are added by the database, so that concurrent updates of the same standing are not lost
+    for (var prediction : match.getPredictions()) {
+      var delta = createStanding(seasonEntity, prediction.getUser());
+      if (wasFinished) {
+        apply(delta, previousHomeScore, previousAwayScore, prediction, -1);
+      }
+      if (isFinished) {
+        apply(delta, match.getHomeTeamScore(), match.getAwayTeamScore(), prediction, 1);
+      }
+      standingRepository.addDelta(seasonEntity.getId(), prediction.getUser().getId(), delta.getPredictions(), delta.getGuessed(), delta.getSum());
+    }
+    log.debug("Standings for the season {} have been updated with the match {}", seasonEntity.getId(), match.getId());
+  }
+
+  private void apply(StandingEntity standing, Integer homeScore, Integer awayScore, PredictionEntity prediction, int sign) {
+    standing.setPredictions(standing.getPredictions() + sign);
+    standing.setGuessed(standing.getGuessed() + (ScoreUtils.isGuessed(homeScore, awayScore, prediction) ? sign : 0));
+    standing.setSum(standing.getSum() + sign * ScoreUtils.getPoints(homeScore, awayScore, prediction));
+  }
+
+  private StandingEntity createStanding(SeasonEntity seasonEntity, UserEntity user) {
+    var standing = new StandingEntity();
+    standing.setSeason(seasonEntity);
+    standing.setUser(user);
+    return standing;
+  }
+
+}
@@ -5,15 +5,20 @@ import at.hrechny.predictionsbot.database.entity.UserEntity;
 import at.hrechny.predictionsbot.database.repository.UserRepository;
 import at.hrechny.predictionsbot.exception.NotFoundException;
 import at.hrechny.predictionsbot.exception.RequestValidationException;
+import at.hrechny.predictionsbot.mapper.UserMapper;
+import at.hrechny.predictionsbot.model.UserProfile;
 import at.hrechny.predictionsbot.util.NameUtils;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,9 +27,13 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserService {
 
+  public static final String USER_PROFILES_CACHE = "user-profiles";
+
+  private final UserMapper userMapper;
   private final UserRepository userRepository;
 
   @Transactional
+  @CacheEvict(value = USER_PROFILES_CACHE, key = "#userId")
   public void createUser(Long userId, String username, String language) {
     log.info("Creating new user {} with id {}", username, userId);
     var userEntity = userRepository.findById(userId).orElse(new UserEntity());
@@ -38,6 +47,7 @@ public class UserService {
   }
 
   @Transactional
+  @CacheEvict(value = USER_PROFILES_CACHE, key = "#userEntity.id")
   public void saveUser(UserEntity userEntity) {
     userRepository.save(userEntity);
     log.info("Added/updated user {} with id {}", userEntity.getUsername(), userEntity.getId());
@@ -47,15 +57,47 @@ public class UserService {
     return userRepository.findByIdAndActiveIsTrue(userId).orElseThrow(() -> new NotFoundException("User not found"));
   }
 
+  /**
+   * Active user locked until the end of the current transaction, so that concurrent changes of the user's data are serialized.
+   */
+  public UserEntity getUserForUpdate(Long userId) {
+    return userRepository.findActiveForUpdate(userId).orElseThrow(() -> new NotFoundException("User not found"));
+  }
+
+  /**
+   * Cached profile of the active user. Evicted on every change of the user.
+   */
+  @Transactional(readOnly = true)
+  @Cacheable(value = USER_PROFILES_CACHE, key = "#userId")
+  public UserProfile getUserProfile(Long userId) {
+    return userMapper.entityToProfile(getUser(userId));
+  }
+
   public List<UserEntity> getUsers() {
     return userRepository.findAllByActiveIsTrue();
   }
 
+  /**
+   * Active users participating in at least one competition, loaded together with their competitions.
+   */
+  public List<UserEntity> getSubscribedUsers() {
+    return userRepository.findAllActiveWithCompetitions();
+  }
+
+  public List<UserEntity> getSubscribedUsers(Collection<ZoneId> timezones) {
+    return userRepository.findAllActiveWithCompetitionsByTimezoneIn(timezones);
+  }
+
+  public List<ZoneId> getTimezones() {
+    return userRepository.findAllActiveTimezones();
+  }
+
   public List<UserEntity> getUsers(UUID competitionId) {
     return userRepository.findAllActiveByCompetitionsId(competitionId);
   }
 
   @Transactional
+  @CacheEvict(value = USER_PROFILES_CACHE, key = "#userId")
   public void updateUsername(Long userId, String username) {
     log.info("Updating username to '{}' for the {}", username, userId);
     if (StringUtils.isBlank(username)) {
@@ -68,6 +110,7 @@ public class UserService {
   }
 
   @Transactional
+  @CacheEvict(value = USER_PROFILES_CACHE, key = "#userId")
   public void updateTimeZone(Long userId, String zoneId) {
     log.info("Updating time zone to '{}' for the {}", zoneId, userId);
     var userEntity = getUser(userId);
@@ -76,6 +119,7 @@ public class UserService {
   }
 
   @Transactional
+  @CacheEvict(value = USER_PROFILES_CACHE, key = "#userId")
   public void updateLanguage(Long userId, String language) {
     log.info("Updating language to '{}' for the {}", language, userId);
     var userEntity = getUser(userId);
@@ -84,6 +128,7 @@ public class UserService {
   }
 
   @Transactional
+  @CacheEvict(value = USER_PROFILES_CACHE, key = "#userId")
   public void updateCompetitions(Long userId, UUID competitionId) {
     log.info("Updating competitions for the {}", userId);
     var userEntity = getUser(userId);
@@ -99,6 +144,7 @@ public class UserService {
   }
 
   @Transactional
+  @CacheEvict(value = USER_PROFILES_CACHE, key = "#userId")
   public void deactivate(Long userId) {
     log.info("Deactivating user {}", userId);
     var userEntity = getUser(userId);
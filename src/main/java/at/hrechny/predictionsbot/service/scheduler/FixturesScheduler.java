@@ -1,12 +1,11 @@
 package at.hrechny.predictionsbot.service.scheduler;
 
 import at.hrechny.predictionsbot.exception.interceptor.EnableErrorReport;
-import at.hrechny.predictionsbot.service.predictor.CompetitionService;
+import at.hrechny.predictionsbot.service.predictor.FixturesRefreshService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
@@ -14,14 +13,12 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class FixturesScheduler {
 
-  private final CompetitionService competitionService;
+  private final FixturesRefreshService fixturesRefreshService;
 
   @Scheduled(cron = "0 0 0 * * *", zone = "UTC")
-  @Transactional
   public void refreshFixtures() {
     log.info("Executing scheduled job for refreshing fixtures data");
-    var activeSeasons = competitionService.getActiveSeasons();
-    activeSeasons.forEach(competitionService::refreshFixtures);
+    fixturesRefreshService.refreshActiveSeasons();
   }
 
 }
@@ -0,0 +1,95 @@
+package at.hrechny.predictionsbot.service.scheduler;
+
+import at.hrechny.predictionsbot.database.entity.MatchEntity;
+import at.hrechny.predictionsbot.service.predictor.CompetitionService;
+import at.hrechny.predictionsbot.service.predictor.FixturesChangedEvent;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Schedules the reminders about the missing predictions ahead of the kickoffs of the upcoming matches.
+ * Matches starting close to each other are reminded together. Timers are rebuilt every time the fixtures are changed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KickoffReminderScheduler {
+
+  private static final Duration HORIZON = Duration.ofDays(2);
+  private static final Duration REBUILD_INTERVAL = Duration.ofDays(1);
+
+  @Value("${reminders.kickoff.offset:60}")
+  private long offsetMinutes;
+
+  @Value("${reminders.kickoff.cluster:30}")
+  private long clusterMinutes;
+
+  private final CompetitionService competitionService;
+  private final ReminderScheduler reminderScheduler;
+  private final TaskScheduler taskScheduler;
+
+  private final List<ScheduledFuture<?>> reminders = new ArrayList<>();
+  private ScheduledFuture<?> nextRebuild;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    rebuild();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onFixturesChanged(FixturesChangedEvent event) {
+    log.info("Fixtures of the season {} have been changed, rebuilding reminder timers", event.getSeasonId());
+    rebuild();
+  }
+
+  public synchronized void rebuild() {
+    reminders.forEach(reminder -> reminder.cancel(false));
+    reminders.clear();
+    if (nextRebuild != null) {
+      nextRebuild.cancel(false);
+    }
+
+    var now = Instant.now();
+    var offset = Duration.ofMinutes(offsetMinutes);
+    for (var cluster : getKickoffClusters(competitionService.getFixtures(now, now.plus(HORIZON)))) {
+      var remindAt = cluster.get(0).getStartTime().minus(offset);
+      if (remindAt.isAfter(now)) {
+        var matchIds = cluster.stream().map(MatchEntity::getId).toList();
+        reminders.add(taskScheduler.schedule(() -> reminderScheduler.sendKickoffReminders(matchIds), remindAt));
+      }
+    }
+
+    // matches beyond the horizon are picked up by the periodic rebuild
+    nextRebuild = taskScheduler.schedule(this::rebuild, now.plus(REBUILD_INTERVAL));
+    log.info("{} kickoff reminders have been scheduled", reminders.size());
+  }
+
+  /**
+   * Groups the matches ordered by start time, so that every group contains the matches starting within the cluster interval after its first match.
+   */
+  private List<List<MatchEntity>> getKickoffClusters(List<MatchEntity> fixtures) {
+    var clusterInterval = Duration.ofMinutes(clusterMinutes);
+    var clusters = new ArrayList<List<MatchEntity>>();
+    List<MatchEntity> cluster = null;
+    for (var match : fixtures) {
+      if (cluster == null || match.getStartTime().isAfter(cluster.get(0).getStartTime().plus(clusterInterval))) {
+        cluster = new ArrayList<>();
+        clusters.add(cluster);
+      }
+      cluster.add(match);
+    }
+    return clusters;
+  }
+
+}
@@ -0,0 +1,46 @@
+package at.hrechny.predictionsbot.service.scheduler;
+
+import at.hrechny.predictionsbot.connector.apifootball.QuotaTracker;
+import at.hrechny.predictionsbot.exception.interceptor.EnableErrorReport;
+import at.hrechny.predictionsbot.service.predictor.CompetitionService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Refreshes the scores of the started matches in the background, so the results pages only read the stored data.
+ * Only the started matches and the ones kicked off recently are requested, so nothing is spent on the days without matches.
+ * Polling stops when the daily quota runs low, leaving the rest of the requests for the full fixtures refresh.
+ */
+@Slf4j
+@Service
+@EnableErrorReport
+@RequiredArgsConstructor
+public class LiveScoresScheduler {
+
+  @Value("${connectors.api-football.liveReserve:20}")
+  private int liveReserve;
+
+  @Value("${connectors.api-football.liveGrace:180}")
+  private long liveGraceMinutes;
+
+  private final CompetitionService competitionService;
+  private final QuotaTracker quotaTracker;
+
+  @Scheduled(fixedDelayString = "${connectors.api-football.liveInterval:60}", timeUnit = TimeUnit.SECONDS)
+  public void refreshLiveScores() {
+    var remaining = quotaTracker.getRemaining();
+    if (remaining <= liveReserve) {
+      log.warn("Live scores are not refreshed: only {} API-Football requests left for the billing day", remaining);
+      return;
+    }
+
+    log.debug("Refreshing live scores of the started matches");
+    competitionService.refreshActiveFixtures(Duration.ofMinutes(liveGraceMinutes));
+  }
+
+}
@@ -1,21 +1,32 @@
 package at.hrechny.predictionsbot.service.scheduler;
 
+import at.hrechny.predictionsbot.database.entity.CompetitionEntity;
 import at.hrechny.predictionsbot.database.entity.MatchEntity;
+import at.hrechny.predictionsbot.database.entity.PredictionEntity;
+import at.hrechny.predictionsbot.database.entity.RoundEntity;
 import at.hrechny.predictionsbot.database.entity.UserEntity;
 import at.hrechny.predictionsbot.exception.interceptor.EnableErrorReport;
 import at.hrechny.predictionsbot.service.predictor.CompetitionService;
+import at.hrechny.predictionsbot.service.predictor.PredictionService;
 import at.hrechny.predictionsbot.service.predictor.UserService;
 import at.hrechny.predictionsbot.service.telegram.TelegramService;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,105 +44,149 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class ReminderScheduler {
 
+  private static final LocalTime DAILY_NOTIFICATION_TIME = LocalTime.parse("20:00");
+
   private final UserService userService;
+  private final PredictionService predictionService;
   private final TelegramService telegramService;
   private final CompetitionService competitionService;
   private final MessageSource messageSource;
 
+  /**
+   * Sends the reminders about the missing predictions for the matches which are going to start soon.
+   * Triggered by {@link KickoffReminderScheduler} ahead of every kickoff.
+   */
+  @Transactional(readOnly = true)
+  public void sendKickoffReminders(Collection<UUID> matchIds) {
+    var now = Instant.now();
+    var upcomingFixtures = competitionService.getMatches(matchIds).stream()
+        .filter(match -> match.getStartTime() != null && match.getStartTime().isAfter(now))
+        .sorted(Comparator.comparing(MatchEntity::getStartTime))
+        .toList();
+    if (upcomingFixtures.isEmpty()) {
+      return;
+    }
+
+    var predictions = getPredictions(upcomingFixtures);
+    userService.getSubscribedUsers().forEach(user -> {
+      var competitionIds = user.getCompetitions().stream().map(CompetitionEntity::getId).collect(Collectors.toSet());
+      String upcomingMatchesString = getStringOfUpcomingMatches(user,
+          getMissedPredictions(upcomingFixtures, competitionIds, predictions.getOrDefault(user.getId(), Map.of())));
+      if (StringUtils.isNotBlank(upcomingMatchesString)) {
+        sendReminder(user, "reminders.today", upcomingMatchesString);
+      }
+    });
+  }
+
   @Transactional(readOnly = true)
   @Scheduled(cron = "0 0 * * * *", zone = "UTC")
   public void sendReminders() {
+    var now = Instant.now();
     var todayFixtures = competitionService.getFixtures(
-        Instant.now().truncatedTo(ChronoUnit.DAYS),
-        Instant.now().plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS));
+        now.truncatedTo(ChronoUnit.DAYS),
+        now.plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS));
     var tomorrowFixtures = competitionService.getFixtures(
-        Instant.now().plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS),
-        Instant.now().plus(Duration.ofDays(2)).truncatedTo(ChronoUnit.DAYS));
-    var todayFixturesByRound = todayFixtures.stream().collect(Collectors.groupingBy(MatchEntity::getRound));
+        now.plus(Duration.ofDays(1)).truncatedTo(ChronoUnit.DAYS),
+        now.plus(Duration.ofDays(2)).truncatedTo(ChronoUnit.DAYS));
+    var todayRoundIds = todayFixtures.stream().map(match -> match.getRound().getId()).collect(Collectors.toSet());
     var tomorrowNewRoundFixtures = tomorrowFixtures.stream()
-        .filter(match -> todayFixturesByRound.getOrDefault(match.getRound(), Collections.emptyList()).stream()
-            .noneMatch(todayMatch -> todayMatch.getRound().equals(match.getRound())))
+        .filter(match -> !todayRoundIds.contains(match.getRound().getId()))
         .toList();
+    if (CollectionUtils.isEmpty(tomorrowNewRoundFixtures)) {
+      return;
+    }
 
-    userService.getUsers().forEach(user -> {
-      // send reminder if predictions are missing for the upcoming today's matches (<= 2 hours till the first one)
-      var firstMatch = todayFixtures.stream().min(Comparator.comparing(MatchEntity::getStartTime));
-      if (firstMatch.isPresent() // first match is between 1 and 2 hours from now
-          && firstMatch.get().getStartTime().isBefore(Instant.now().plus(Duration.ofHours(2).plusSeconds(1)))
-          && firstMatch.get().getStartTime().isAfter(Instant.now().plus(Duration.ofHours(1)))) {
-        String upcomingMatchesString = getMissedPredictions(todayFixtures, user);
-        if (StringUtils.isNotBlank(upcomingMatchesString)) {
-          sendReminder(user, "reminders.today", upcomingMatchesString);
-        }
-      }
+    // daily reminder is sent at 20:00 of the user's local time, so only the users of the matching time zones are processed
+    var eveningTimezones = userService.getTimezones().stream()
+        .filter(timezone -> timezone != null && isEveningTime(timezone, now))
+        .collect(Collectors.toSet());
+    if (eveningTimezones.isEmpty()) {
+      return;
+    }
 
-      // check if now from 19:59 till 20.59
-      // then send daily reminder if no predictions made for the next day
+    var predictions = getPredictions(tomorrowNewRoundFixtures);
+    var recentlyPlayedRoundIds = getRecentlyPlayedRoundIds(tomorrowNewRoundFixtures, now);
+    var users = userService.getSubscribedUsers(eveningTimezones);
+    log.info("Checking daily reminders of {} users", users.size());
+    users.forEach(user -> {
+      var competitionIds = user.getCompetitions().stream().map(CompetitionEntity::getId).collect(Collectors.toSet());
+      var userPredictions = predictions.getOrDefault(user.getId(), Map.of());
+
+      // send daily reminder if no predictions made for the next day
       // or if some predictions were made more than week ago
-      if (CollectionUtils.isNotEmpty(tomorrowNewRoundFixtures)) {
-        var dailyNotificationTime = LocalTime.parse("20:00");
-        var userTime = LocalTime.now(user.getTimezone());
-        if (userTime.isAfter(dailyNotificationTime.minusMinutes(1)) && userTime.isBefore(dailyNotificationTime.plusMinutes(59))) {
-          String missedPredictionsString = getMissedPredictions(tomorrowNewRoundFixtures, user);
-          if (StringUtils.isNoneBlank(missedPredictionsString)) {
-            sendReminder(user, "reminders.tomorrow", missedPredictionsString);
-          }
-
-          String oldPredictionsString = getOldPredictions(tomorrowNewRoundFixtures, user);
-          if (StringUtils.isNoneBlank(oldPredictionsString)) {
-            sendReminder(user, "reminders.recheck", oldPredictionsString);
-          }
-        }
+      String missedPredictionsString = getStringOfUpcomingMatches(user,
+          getMissedPredictions(tomorrowNewRoundFixtures, competitionIds, userPredictions));
+      if (StringUtils.isNoneBlank(missedPredictionsString)) {
+        sendReminder(user, "reminders.tomorrow", missedPredictionsString);
+      }
+
+      String oldPredictionsString = getStringOfUpcomingMatches(user,
+          getOldPredictions(tomorrowNewRoundFixtures, competitionIds, userPredictions, recentlyPlayedRoundIds, now));
+      if (StringUtils.isNoneBlank(oldPredictionsString)) {
+        sendReminder(user, "reminders.recheck", oldPredictionsString);
       }
     });
   }
 
-  @Nullable
-  private String getMissedPredictions(List<MatchEntity> upcomingFixtures, UserEntity user) {
-    var predictionMissedMatches = new ArrayList<MatchEntity>();
-
-    for (var upcoming : upcomingFixtures) {
-      // skip if user is not participating in the competition
-      if (user.getCompetitions().stream().noneMatch(competition -> upcoming.getRound().getSeason().getCompetition().getId().equals(competition.getId()))) {
-        continue;
-      }
+  /**
+   * Loads the predictions of the matches at once, keyed by user and match.
+   */
+  private Map<Long, Map<UUID, PredictionEntity>> getPredictions(List<MatchEntity> matches) {
+    var matchIds = matches.stream().map(MatchEntity::getId).toList();
+    return predictionService.getPredictions(matchIds).stream()
+        .collect(Collectors.groupingBy(prediction -> prediction.getUser().getId(),
+            Collectors.toMap(prediction -> prediction.getMatch().getId(), Function.identity(), (first, second) -> first)));
+  }
 
-      // skip if user already made a prediction
-      var predictionMissed = upcoming.getPredictions().stream().noneMatch(p -> p.getUser().equals(user));
-      if (predictionMissed) {
-        predictionMissedMatches.add(upcoming);
-      }
-    }
+  /**
+   * Checks if the local time in the time zone is from 19:59 till 20:59.
+   */
+  private boolean isEveningTime(ZoneId timezone, Instant now) {
+    var localTime = LocalTime.ofInstant(now, timezone);
+    return localTime.isAfter(DAILY_NOTIFICATION_TIME.minusMinutes(1)) && localTime.isBefore(DAILY_NOTIFICATION_TIME.plusMinutes(59));
+  }
 
-    return getStringOfUpcomingMatches(user, predictionMissedMatches);
+  private List<MatchEntity> getMissedPredictions(List<MatchEntity> upcomingFixtures, Set<UUID> competitionIds, Map<UUID, PredictionEntity> predictions) {
+    return upcomingFixtures.stream()
+        .filter(upcoming -> competitionIds.contains(getCompetitionId(upcoming)))
+        .filter(upcoming -> !predictions.containsKey(upcoming.getId()))
+        .toList();
   }
 
-  @Nullable
-  private String getOldPredictions(List<MatchEntity> upcomingFixtures, UserEntity user) {
-    var oldPredictions = new ArrayList<MatchEntity>();
-    var weekBeforeNow = Instant.now().minus(Duration.ofDays(7));
-
-    for (var upcoming : upcomingFixtures) {
-      // skip if user is not participating in the competition
-      if (user.getCompetitions().stream().noneMatch(competition -> upcoming.getRound().getSeason().getCompetition().getId().equals(competition.getId()))) {
-        continue;
-      }
+  private List<MatchEntity> getOldPredictions(List<MatchEntity> upcomingFixtures, Set<UUID> competitionIds, Map<UUID, PredictionEntity> predictions,
+      Set<UUID> recentlyPlayedRoundIds, Instant now) {
+    var weekBeforeNow = now.minus(Duration.ofDays(7));
+    return upcomingFixtures.stream()
+        .filter(upcoming -> competitionIds.contains(getCompetitionId(upcoming)))
+        .filter(upcoming -> {
+          // prediction made more than week ago and no matches of the round played since then
+          var prediction = predictions.get(upcoming.getId());
+          return prediction != null
+              && prediction.getUpdatedAt().isBefore(weekBeforeNow)
+              && !recentlyPlayedRoundIds.contains(upcoming.getRound().getId());
+        })
+        .toList();
+  }
 
-      // check if prediction made more than week ago
-      var userPrediction = upcoming.getPredictions().stream().filter(p -> p.getUser().equals(user)).findAny();
-      if (userPrediction.isPresent() && userPrediction.get().getUpdatedAt().isBefore(weekBeforeNow)) {
-        var fixturesOfRound = upcoming.getRound().getMatches();
-        var fixturesOfRoundThisWeek = fixturesOfRound.stream()
+  private Set<UUID> getRecentlyPlayedRoundIds(List<MatchEntity> upcomingFixtures, Instant now) {
+    var weekBeforeNow = now.minus(Duration.ofDays(7));
+    return upcomingFixtures.stream()
+        .map(MatchEntity::getRound)
+        .filter(distinctById())
+        .filter(round -> round.getMatches().stream()
             .filter(match -> match.getStartTime() != null)
-            .filter(match -> match.getStartTime().isAfter(weekBeforeNow) && match.getStartTime().isBefore(Instant.now()))
-            .findAny();
-        if (fixturesOfRoundThisWeek.isEmpty()) {
-          oldPredictions.add(upcoming);
-        }
-      }
-    }
+            .anyMatch(match -> match.getStartTime().isAfter(weekBeforeNow) && match.getStartTime().isBefore(now)))
+        .map(RoundEntity::getId)
+        .collect(Collectors.toSet());
+  }
 
-    return getStringOfUpcomingMatches(user, oldPredictions);
+  private static Predicate<RoundEntity> distinctById() {
+    var seen = new HashSet<UUID>();
+    return round -> seen.add(round.getId());
+  }
+
+  private UUID getCompetitionId(MatchEntity match) {
+    return match.getRound().getSeason().getCompetition().getId();
   }
 
   @Nullable
@@ -160,8 +215,11 @@ public class ReminderScheduler {
 
   private void sendReminder(UserEntity user, String messageCode, String matches) {
     var message = messageSource.getMessage(messageCode, List.of(matches).toArray(), getLocale(user));
-    telegramService.sendMessage(user.getId(), message);
-    log.info("Reminder has been successfully sent to the user {}", user.getId());
+    telegramService.sendMessage(user.getId(), message).thenAccept(response -> {
+      if (response.isOk()) {
+        log.info("Reminder has been successfully sent to the user {}", user.getId());
+      }
+    });
   }
 
   private String getRoundName(UserEntity user, MatchEntity match) {
@@ -0,0 +1,113 @@
+package at.hrechny.predictionsbot.service.telegram;
+
+import at.hrechny.predictionsbot.database.entity.UserEntity;
+import at.hrechny.predictionsbot.exception.NotFoundException;
+import at.hrechny.predictionsbot.model.BroadcastStatus;
+import at.hrechny.predictionsbot.service.predictor.CompetitionService;
+import at.hrechny.predictionsbot.service.predictor.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sends messages to many users in background. Every broadcast is tracked as a job which progress can be requested by its ID.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BroadcastService {
+
+  private final UserService userService;
+  private final CompetitionService competitionService;
+  private final TelegramService telegramService;
+  private final TaskExecutor broadcastExecutor;
+
+  private final Cache<UUID, BroadcastJob> jobs = Caffeine.newBuilder()
+      .expireAfterWrite(Duration.ofDays(1))
+      .build();
+
+  public UUID pushUpdate(String message, boolean updateCompetitionList) {
+    return broadcast("push update", userService.getUsers(), user -> telegramService.pushUpdate(user.getId(), message, updateCompetitionList));
+  }
+
+  public UUID pushUpdate(UUID competitionId) {
+    return broadcast("push update of " + competitionId, userService.getUsers(competitionId), telegramService::pushUpdate);
+  }
+
+  public UUID sendCompetition(UUID competitionId) {
+    var competition = competitionService.getCompetition(competitionId);
+    return broadcast("new competition " + competitionId, userService.getUsers(), user -> telegramService.sendCompetition(user, competition));
+  }
+
+  public BroadcastStatus getStatus(UUID jobId) {
+    var job = jobs.getIfPresent(jobId);
+    if (job == null) {
+      throw new NotFoundException("Broadcast " + jobId + " not found");
+    }
+    return job.toStatus();
+  }
+
+  private UUID broadcast(String name, List<UserEntity> users, Consumer<UserEntity> action) {
+    var job = new BroadcastJob(UUID.randomUUID(), name, users.size());
+    jobs.put(job.id, job);
+    log.info("Starting broadcast {} ({}) to {} users", job.id, name, users.size());
+    if (users.isEmpty()) {
+      job.finishedAt = Instant.now();
+    }
+
+    users.forEach(user -> broadcastExecutor.execute(() -> {
+      try {
+        action.accept(user);
+        job.sent.incrementAndGet();
+      } catch (Exception ex) {
+        log.error("Broadcast {} failed for the user {}: {}", job.id, user.getId(), ex.getMessage());
+        job.failed.incrementAndGet();
+      }
+      if (job.sent.get() + job.failed.get() == job.total) {
+        job.finishedAt = Instant.now();
+        log.info("Broadcast {} has been finished: {} sent, {} failed", job.id, job.sent.get(), job.failed.get());
+      }
+    }));
+    return job.id;
+  }
+
+  private static class BroadcastJob {
+
+    private final UUID id;
+    private final String name;
+    private final int total;
+    private final Instant startedAt = Instant.now();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile Instant finishedAt;
+
+    private BroadcastJob(UUID id, String name, int total) {
+      this.id = id;
+      this.name = name;
+      this.total = total;
+    }
+
+    private BroadcastStatus toStatus() {
+      var status = new BroadcastStatus();
+      status.setId(id);
+      status.setName(name);
+      status.setTotal(total);
+      status.setSent(sent.get());
+      status.setFailed(failed.get());
+      status.setFinished(finishedAt != null);
+      status.setStartedAt(startedAt);
+      status.setFinishedAt(finishedAt);
+      return status;
+    }
+  }
+
+}
@@ -18,12 +18,19 @@ import com.pengrad.telegrambot.model.Message;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.User;
 import jakarta.annotation.PostConstruct;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -32,10 +39,12 @@ import org.springframework.stereotype.Service;
 public class MessageListener implements UpdatesListener {
 
   private ObjectMapper objectMapper;
+  private final Map<Long, CompletableFuture<Void>> chatQueues = new ConcurrentHashMap<>();
 
   private final TelegramService telegramService;
   private final PredictionService predictionService;
   private final UserService userService;
+  private final TaskExecutor updatesExecutor;
 
   @PostConstruct
   public void init() {
@@ -43,39 +52,83 @@ public class MessageListener implements UpdatesListener {
     telegramService.setUpListener(this);
   }
 
+  /**
+   * Processes the updates of different chats in parallel, keeping the order of the updates within the chat.
+   * All updates are confirmed, failed updates are logged and reported instead of being redelivered.
+   */
   @SneakyThrows
   @EnableErrorReport
-  @SuppressWarnings("java:S135")
   public int process(List<Update> updates) {
     log.debug("Processing Bot updates: {}", objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(updates));
-    for (var updateMessage : updates) {
-      try {
-        if (updateMessage.callbackQuery() != null) {
-          processCallbackQuery(updateMessage.callbackQuery());
-          continue;
-        }
+    var updatesByChat = updates.stream().collect(Collectors.groupingBy(this::getChatId, LinkedHashMap::new, Collectors.toList()));
+    var tasks = updatesByChat.values().stream()
+        .map(chatUpdates -> CompletableFuture.runAsync(() -> chatUpdates.forEach(this::processUpdate), updatesExecutor))
+        .toArray(CompletableFuture[]::new);
 
-        var message = updateMessage.message() != null ? updateMessage.message() : updateMessage.editedMessage();
-        if (message == null) {
-          continue;
-        }
+    try {
+      CompletableFuture.allOf(tasks).join();
+    } catch (CompletionException ex) {
+      log.error("Unable to process all updates", ex);
+    }
+    return UpdatesListener.CONFIRMED_UPDATES_ALL;
+  }
 
-        if (message.location() != null) {
-          updateLocation(message);
-        } else if (message.webAppData() != null) {
-          savePredictions(message);
-        } else if (message.text() != null) {
-          processMessageText(message);
-        } else {
-          log.warn("Got unexpected update: {}", updateMessage.updateId());
-        }
-      } catch (Exception ex) {
-        log.error("Unable to process an update {}", updateMessage.updateId(), ex);
+  /**
+   * Processes the update in background, after all the updates of the same chat submitted before.
+   * Used by the webhook, where the updates come one by one.
+   */
+  public void enqueue(Update update) {
+    var chatId = getChatId(update);
+    var next = chatQueues.compute(chatId, (id, previous) -> (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+        .thenRunAsync(() -> processUpdate(update), updatesExecutor));
+    // registered outside of compute, as the callback may run at once on the calling thread and modify the map
+    next.whenComplete((result, ex) -> chatQueues.remove(chatId, next));
+  }
+
+  @SuppressWarnings("java:S135")
+  private void processUpdate(Update updateMessage) {
+    try {
+      if (updateMessage.callbackQuery() != null) {
+        processCallbackQuery(updateMessage.callbackQuery());
+        return;
+      }
+
+      var message = updateMessage.message() != null ? updateMessage.message() : updateMessage.editedMessage();
+      if (message == null) {
+        return;
+      }
+
+      if (message.location() != null) {
+        updateLocation(message);
+      } else if (message.webAppData() != null) {
+        savePredictions(message);
+      } else if (message.text() != null) {
+        processMessageText(message);
+      } else {
+        log.warn("Got unexpected update: {}", updateMessage.updateId());
+      }
+    } catch (Exception ex) {
+      log.error("Unable to process an update {}", updateMessage.updateId(), ex);
+      try {
         telegramService.sendErrorReport(ex);
+      } catch (Exception reportException) {
+        log.error("Unable to send error report: {}", reportException.getMessage());
       }
     }
+  }
 
-    return UpdatesListener.CONFIRMED_UPDATES_ALL;
+  private Long getChatId(Update update) {
+    if (update.callbackQuery() != null && update.callbackQuery().from() != null) {
+      return update.callbackQuery().from().id();
+    }
+
+    var message = update.message() != null ? update.message() : update.editedMessage();
+    if (message != null && message.chat() != null) {
+      return message.chat().id();
+    }
+
+    // updates without chat are independent of each other
+    return -update.updateId().longValue();
   }
 
   private void processMessageText(Message message) {
@@ -0,0 +1,101 @@
+package at.hrechny.predictionsbot.service.telegram;
+
+import at.hrechny.predictionsbot.model.MessageQueueMetrics;
+import com.pengrad.telegrambot.TelegramBot;
+import com.pengrad.telegrambot.request.BaseRequest;
+import com.pengrad.telegrambot.response.BaseResponse;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Sends the requests to Telegram within the rate limits.
+ * When Telegram answers with 429 Too Many Requests, sending is paused for the requested retry_after and the request is retried.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MessageQueue {
+
+  private static final int TOO_MANY_REQUESTS = 429;
+
+  @Value("${telegram.queue.maxAttempts:3}")
+  private int maxAttempts;
+
+  private final TelegramBot telegramBot;
+  private final RateLimiter rateLimiter;
+  private final TaskExecutor telegramExecutor;
+
+  private final AtomicLong queued = new AtomicLong();
+  private final AtomicLong inFlight = new AtomicLong();
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong throttled = new AtomicLong();
+  private final AtomicLong failed = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+
+  /**
+   * Sends the request in the current thread and returns the last response received.
+   */
+  public <T extends BaseRequest<T, R>, R extends BaseResponse> R execute(BaseRequest<T, R> request, Long chatId) {
+    inFlight.incrementAndGet();
+    try {
+      return send(request, chatId);
+    } finally {
+      inFlight.decrementAndGet();
+    }
+  }
+
+  /**
+   * Sends the request in background.
+   */
+  public <T extends BaseRequest<T, R>, R extends BaseResponse> CompletableFuture<R> enqueue(BaseRequest<T, R> request, Long chatId) {
+    queued.incrementAndGet();
+    return CompletableFuture.supplyAsync(() -> {
+      queued.decrementAndGet();
+      return execute(request, chatId);
+    }, telegramExecutor);
+  }
+
+  public MessageQueueMetrics getMetrics() {
+    var metrics = new MessageQueueMetrics();
+    metrics.setQueued(queued.get());
+    metrics.setInFlight(inFlight.get());
+    metrics.setSent(sent.get());
+    metrics.setThrottled(throttled.get());
+    metrics.setFailed(failed.get());
+    metrics.setDropped(dropped.get());
+    return metrics;
+  }
+
+  private <T extends BaseRequest<T, R>, R extends BaseResponse> R send(BaseRequest<T, R> request, Long chatId) {
+    R response = null;
+    for (var attempt = 1; attempt <= maxAttempts; attempt++) {
+      rateLimiter.acquire(chatId);
+      response = telegramBot.execute(request);
+      if (response.isOk()) {
+        sent.incrementAndGet();
+        return response;
+      }
+
+      if (response.errorCode() != TOO_MANY_REQUESTS) {
+        failed.incrementAndGet();
+        return response;
+      }
+
+      throttled.incrementAndGet();
+      var retryAfter = response.parameters() != null && response.parameters().retryAfter() != null ? response.parameters().retryAfter() : 1;
+      log.warn("Too many requests to Telegram, retrying message to the chat {} in {} seconds (attempt {} of {})", chatId, retryAfter, attempt, maxAttempts);
+      rateLimiter.throttle(chatId, Duration.ofSeconds(retryAfter));
+    }
+
+    dropped.incrementAndGet();
+    log.error("Message to the chat {} has been dropped after {} attempts", chatId, maxAttempts);
+    return response;
+  }
+
+}
@@ -0,0 +1,46 @@
+package at.hrechny.predictionsbot.service.telegram;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps outgoing messages within the Telegram limits: messages per second for the bot in total and per single chat.
+ */
+@Service
+public class RateLimiter {
+
+  private final TokenBucket globalBucket;
+  private final int chatLimit;
+  private final Cache<Long, TokenBucket> chatBuckets = Caffeine.newBuilder()
+      .expireAfterAccess(Duration.ofMinutes(1))
+      .build();
+
+  public RateLimiter(@Value("${telegram.rateLimit.global:30}") int globalLimit, @Value("${telegram.rateLimit.chat:1}") int chatLimit) {
+    this.globalBucket = new TokenBucket(globalLimit, Duration.ofSeconds(1));
+    this.chatLimit = chatLimit;
+  }
+
+  /**
+   * Blocks until a message can be sent to the chat.
+   */
+  public void acquire(Long chatId) {
+    getChatBucket(chatId).acquire();
+    globalBucket.acquire();
+  }
+
+  /**
+   * Stops sending messages to the chat and to all chats for the given duration, as requested by Telegram with retry_after.
+   */
+  public void throttle(Long chatId, Duration duration) {
+    getChatBucket(chatId).pause(duration);
+    globalBucket.pause(duration);
+  }
+
+  private TokenBucket getChatBucket(Long chatId) {
+    return chatBuckets.get(chatId, id -> new TokenBucket(chatLimit, Duration.ofSeconds(1)));
+  }
+
+}
@@ -1,8 +1,9 @@
 package at.hrechny.predictionsbot.service.telegram;
 
-import at.hrechny.predictionsbot.database.entity.SeasonEntity;
 import at.hrechny.predictionsbot.database.entity.UserEntity;
 import at.hrechny.predictionsbot.exception.NotFoundException;
+import at.hrechny.predictionsbot.model.Competition;
+import at.hrechny.predictionsbot.model.UserProfile;
 import at.hrechny.predictionsbot.service.predictor.CompetitionService;
 import at.hrechny.predictionsbot.service.predictor.PredictionService;
 import at.hrechny.predictionsbot.service.predictor.UserService;
@@ -19,14 +20,18 @@ import com.pengrad.telegrambot.model.request.KeyboardButton;
 import com.pengrad.telegrambot.model.request.ParseMode;
 import com.pengrad.telegrambot.model.request.ReplyKeyboardMarkup;
 import com.pengrad.telegrambot.model.request.ReplyKeyboardRemove;
+import com.pengrad.telegrambot.request.DeleteWebhook;
 import com.pengrad.telegrambot.request.EditMessageText;
 import com.pengrad.telegrambot.request.SendDocument;
 import com.pengrad.telegrambot.request.SendMessage;
-import jakarta.annotation.PostConstruct;
+import com.pengrad.telegrambot.request.SetWebhook;
+import com.pengrad.telegrambot.response.SendResponse;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -43,42 +48,69 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional(readOnly = true)
 public class TelegramService {
 
-  @Value("${telegram.token}")
-  private String botToken;
-
   @Value("${telegram.reportTo}")
   private String reportUserId;
 
   @Value("${application.url}")
   private String applicationUrl;
 
-  private TelegramBot telegramBot;
+  @Value("${telegram.webhook.enabled:false}")
+  private boolean webhookEnabled;
+
+  @Value("${telegram.webhook.secret:}")
+  private String webhookSecret;
 
   private final MessageSource messageSource;
   private final PredictionService predictionService;
   private final CompetitionService competitionService;
   private final UserService userService;
   private final HashUtils hashUtils;
-
-  @PostConstruct
-  public void init() {
-    telegramBot = new TelegramBot(botToken);
-  }
+  private final TelegramBot telegramBot;
+  private final MessageQueue messageQueue;
 
   public void setUpListener(UpdatesListener updatesListener) {
+    if (webhookEnabled) {
+      if (StringUtils.isBlank(webhookSecret)) {
+        throw new IllegalStateException("telegram.webhook.secret must be set when the webhook is enabled");
+      }
+      var response = telegramBot.execute(new SetWebhook().url(applicationUrl + "/telegram/updates").secretToken(webhookSecret));
+      if (response.isOk()) {
+        log.info("Webhook has been successfully set up");
+      } else {
+        log.error("Webhook was not set up: [{}] {}", response.errorCode(), response.description());
+      }
+      return;
+    }
+
+    telegramBot.execute(new DeleteWebhook());
     telegramBot.setUpdatesListener(updatesListener);
   }
 
-  public void sendMessage(Long userId, String message) {
+  /**
+   * Sends the message in background. The returned future fails if the message was not sent, unless the user has blocked the bot,
+   * in which case it completes with the unsuccessful response. Failures are reported with {@link #sendErrorReport(Exception)}.
+   */
+  public CompletableFuture<SendResponse> sendMessage(Long userId, String message) {
     log.debug("Sending message to the user {}: {}", userId, message);
-    sendMessage(new SendMessage(userId, message).parseMode(ParseMode.HTML), userId);
+    return messageQueue.enqueue(new SendMessage(userId, message).parseMode(ParseMode.HTML), userId)
+        .thenApply(response -> {
+          processResponse(response, userId);
+          return response;
+        })
+        .whenComplete((result, ex) -> {
+          if (ex != null) {
+            var cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            log.error("Message to the user {} was not sent: {}", userId, cause.getMessage());
+            reportError(cause);
+          }
+        });
   }
 
   @Transactional
   public void startBot(User user) {
     SendMessage message;
     try {
-      userService.getUser(user.id());
+      userService.getUserProfile(user.id());
       sendHelp(user);
       return;
     } catch (NotFoundException ex) {
@@ -120,8 +152,8 @@ public class TelegramService {
     var buttonsArray = getPredictionButtons(user.id());
 
     if (buttonsArray.length == 0) {
-      var userEntity = userService.getUser(user.id());
-      if (userEntity.getCompetitions().isEmpty()) {
+      var userProfile = userService.getUserProfile(user.id());
+      if (userProfile.getCompetitions().isEmpty()) {
         sendCompetitions(user);
       } else {
         var message = messageSource.getMessage("no_competitions", null, getLocale(user));
@@ -217,26 +249,23 @@ public class TelegramService {
     sendMessage(sendMessage, user.id());
   }
 
-  public void sendCompetition(UUID competitionId) {
-    var competition = competitionService.getCompetition(competitionId);
-    userService.getUsers().forEach(user -> {
-      var locale = user.getLanguage() != null ? user.getLanguage() : new Locale("ru");
-      var sendMessage = new SendMessage(user.getId(), messageSource.getMessage("competitions.new", new String [] { competition.getName() }, locale));
-      sendMessage.replyMarkup(new InlineKeyboardMarkup(new InlineKeyboardButton(competition.getName()).callbackData("/competition " + competitionId)));
-      sendMessage.parseMode(ParseMode.HTML);
-      sendMessage(sendMessage, user.getId());
+  public void sendCompetition(UserEntity user, Competition competition) {
+    var locale = user.getLanguage() != null ? user.getLanguage() : new Locale("ru");
+    var sendMessage = new SendMessage(user.getId(), messageSource.getMessage("competitions.new", new String [] { competition.getName() }, locale));
+    sendMessage.replyMarkup(new InlineKeyboardMarkup(new InlineKeyboardButton(competition.getName()).callbackData("/competition " + competition.getId())));
+    sendMessage.parseMode(ParseMode.HTML);
+    sendMessage(sendMessage, user.getId());
 
-      if (competition.isActive()) {
-        pushUpdate(user.getId(), messageSource.getMessage("push.update", null, locale), true);
-      }
-    });
+    if (competition.isActive()) {
+      pushUpdate(user);
+    }
   }
 
   public void sendCompetition(User user, Integer messageId, UUID competitionId) {
     var locale = getLocale(user);
-    var userEntity = userService.getUser(user.id());
+    var userProfile = userService.getUserProfile(user.id());
     var competition = competitionService.getCompetition(competitionId);
-    var activated = userEntity.getCompetitions().stream().anyMatch(competitionEntity -> competitionEntity.getId().equals(competitionId));
+    var activated = userProfile.getCompetitions().stream().anyMatch(userCompetition -> userCompetition.getId().equals(competitionId));
     var button = new InlineKeyboardButton((activated ? "✅ " : "") + competition.getName());
     button.callbackData("/competition " + competition.getId());
 
@@ -323,11 +352,9 @@ public class TelegramService {
     sendMessage(sendMessage, user.id());
   }
 
-  public void pushUpdate(UUID competitionId) {
-    userService.getUsers(competitionId).forEach(user -> {
-      var locale = user.getLanguage() != null ? user.getLanguage() : new Locale("ru");
-      pushUpdate(user.getId(), messageSource.getMessage("push.update", null, locale), true);
-    });
+  public void pushUpdate(UserEntity user) {
+    var locale = user.getLanguage() != null ? user.getLanguage() : new Locale("ru");
+    pushUpdate(user.getId(), messageSource.getMessage("push.update", null, locale), true);
   }
 
   public void pushUpdate(Long userId, String message, boolean updateCompetitionList) {
@@ -350,8 +377,8 @@ public class TelegramService {
   private KeyboardButton[][] getPredictionButtons(Long userId) {
     var buttons = new ArrayList<List<KeyboardButton>>();
 
-    userService.getUser(userId).getCompetitions().forEach(competition -> {
-      if (competition.getSeasons().stream().anyMatch(SeasonEntity::isActive)) {
+    userService.getUserProfile(userId).getCompetitions().forEach(competition -> {
+      if (competition.isActive()) {
         var buttonsRow = new ArrayList<KeyboardButton>();
         var predictionsKeyboardButton = new KeyboardButton(competition.getName());
         predictionsKeyboardButton.webAppInfo(new WebAppInfo(buildGeneralUrl(userId, competition.getId(), null,"predictions")));
@@ -374,7 +401,7 @@ public class TelegramService {
 
   private InlineKeyboardButton[][] getCompetitionButtonsMatrix(Long userId) {
     var inlineKeyboardButtons = new ArrayList<InlineKeyboardButton>();
-    userService.getUser(userId).getCompetitions().forEach(competition -> {
+    userService.getUserProfile(userId).getCompetitions().forEach(competition -> {
       var inlineKeyboardButton = new InlineKeyboardButton(competition.getName());
       inlineKeyboardButton.callbackData("/seasons " + competition.getId());
       inlineKeyboardButtons.add(inlineKeyboardButton);
@@ -384,11 +411,11 @@ public class TelegramService {
   }
 
   private InlineKeyboardButton[][] getCompetitions(User user) {
-    var userEntity = userService.getUser(user.id());
+    var userProfile = userService.getUserProfile(user.id());
     var competitions = competitionService.getCompetitions();
     var competitionList = new ArrayList<InlineKeyboardButton>();
     competitions.forEach(competition -> {
-      var activated = userEntity.getCompetitions().stream().anyMatch(competitionEntity -> competitionEntity.getId().equals(competition.getId()));
+      var activated = userProfile.getCompetitions().stream().anyMatch(userCompetition -> userCompetition.getId().equals(competition.getId()));
       var button = new InlineKeyboardButton((activated ? "✅ " : "") + competition.getName());
       button.callbackData("/competitions " + competition.getId());
       competitionList.add(button);
@@ -407,17 +434,20 @@ public class TelegramService {
   }
 
   private Locale getLocale(User user) {
-    var userEntity = userService.getUser(user.id());
-    return userEntity.getLanguage() != null ? userEntity.getLanguage() : new Locale(user.languageCode());
+    var userProfile = userService.getUserProfile(user.id());
+    return userProfile.getLanguage() != null ? userProfile.getLanguage() : new Locale(user.languageCode());
   }
 
-  private Locale getLocale(UserEntity userEntity) {
-    return userEntity.getLanguage() != null ? userEntity.getLanguage() : userEntity.getInitialLanguage();
+  private Locale getLocale(UserProfile userProfile) {
+    return userProfile.getLanguage() != null ? userProfile.getLanguage() : userProfile.getInitialLanguage();
   }
 
-  @SneakyThrows
   private void sendMessage(SendMessage message, Long userId) {
-    var response = telegramBot.execute(message);
+    processResponse(messageQueue.execute(message, userId), userId);
+  }
+
+  @SneakyThrows
+  private void processResponse(SendResponse response, Long userId) {
     if (response.isOk()) {
       log.info("Message {} has been successfully sent", response.message().messageId());
     } else {
@@ -432,7 +462,7 @@ public class TelegramService {
 
   @SneakyThrows
   private void editMessage(EditMessageText editMessage, Long userId) {
-    var response = telegramBot.execute(editMessage);
+    var response = messageQueue.execute(editMessage, userId);
     if (response.isOk()) {
       log.info("Message has been successfully updated");
     } else {
@@ -452,11 +482,11 @@ public class TelegramService {
       return;
     }
 
-    var reportUser = userService.getUser(Long.valueOf(reportUserId));
+    var reportUser = userService.getUserProfile(Long.valueOf(reportUserId));
     var sendDocument = new SendDocument(reportUserId, FileUtils.buildPdfDocument(exception));
     sendDocument.fileName(exception.getClass().getSimpleName() + ".pdf");
     sendDocument.caption(messageSource.getMessage("error", null, getLocale(reportUser)) + ": " + exception.getMessage());
-    var response = telegramBot.execute(sendDocument);
+    var response = messageQueue.execute(sendDocument, reportUser.getId());
     if (response.isOk()) {
       log.info("Error report document {} has been successfully sent", response.message().messageId());
     } else {
@@ -465,12 +495,20 @@ public class TelegramService {
     }
   }
 
+  private void reportError(Throwable throwable) {
+    try {
+      sendErrorReport(throwable instanceof Exception exception ? exception : new IllegalStateException(throwable));
+    } catch (Exception ex) {
+      log.error("Unable to send error report: {}", ex.getMessage());
+    }
+  }
+
   private void sendReport(User user, String reportCode) {
     if (StringUtils.isBlank(reportUserId)) {
       log.info("No user specified to send error report");
       return;
     }
-    var reportUser = userService.getUser(Long.valueOf(reportUserId));
+    var reportUser = userService.getUserProfile(Long.valueOf(reportUserId));
     var reportMessage = new SendMessage(reportUser.getId(), messageSource.getMessage(reportCode, List.of(user.id().toString()).toArray(), getLocale(reportUser)));
     sendMessage(reportMessage, reportUser.getId());
   }
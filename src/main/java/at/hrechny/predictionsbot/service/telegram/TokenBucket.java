@@ -0,0 +1,67 @@
+package at.hrechny.predictionsbot.service.telegram;
+
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket allowing bursts up to its capacity and refilling the whole capacity during the given period.
+ */
+class TokenBucket {
+
+  private final double capacity;
+  private final double tokensPerNano;
+
+  private double tokens;
+  private long lastRefill;
+  private long pausedUntil;
+
+  TokenBucket(int capacity, Duration period) {
+    this.capacity = capacity;
+    this.tokensPerNano = capacity / (double) period.toNanos();
+    this.tokens = capacity;
+    this.lastRefill = System.nanoTime();
+    this.pausedUntil = lastRefill;
+  }
+
+  /**
+   * Blocks until a token is available and takes it.
+   */
+  void acquire() {
+    long waitNanos;
+    while ((waitNanos = tryAcquire()) > 0) {
+      LockSupport.parkNanos(waitNanos);
+    }
+  }
+
+  /**
+   * Takes a token if available.
+   *
+   * @return 0 if the token has been taken, otherwise the time in nanoseconds until the next token is available
+   */
+  synchronized long tryAcquire() {
+    var now = System.nanoTime();
+    if (now - pausedUntil < 0) {
+      return pausedUntil - now;
+    }
+    tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+    lastRefill = now;
+    if (tokens >= 1) {
+      tokens--;
+      return 0;
+    }
+    return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+  }
+
+  /**
+   * Gives out no tokens for the given duration. The bucket starts empty after the pause.
+   */
+  synchronized void pause(Duration duration) {
+    var until = System.nanoTime() + duration.toNanos();
+    if (until - pausedUntil > 0) {
+      pausedUntil = until;
+      tokens = 0;
+      lastRefill = until;
+    }
+  }
+
+}
@@ -1,35 +1,66 @@
 package at.hrechny.predictionsbot.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.HexFormat;
 import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Keyed hash of the user ID used to sign the web app URLs: hex of SHA-256 over the secret key followed by the value.
+ * The digest already fed with the key is kept per thread and cloned for every hash, computed hashes are cached.
+ */
 @Service
 public class HashUtils {
 
+  private static final HexFormat HEX_FORMAT = HexFormat.of();
+
   @Value("${secrets.telegramKey}")
   private String telegramKey;
 
-  @SneakyThrows
+  @Value("${cache.hashes.maxSize:10000}")
+  private int cacheSize;
+
+  private final ThreadLocal<MessageDigest> keyedDigest = ThreadLocal.withInitial(this::createKeyedDigest);
+
+  private Cache<String, String> hashes;
+
+  @PostConstruct
+  public void init() {
+    hashes = Caffeine.newBuilder().maximumSize(cacheSize).build();
+  }
+
   public String getHash(String originalString) {
-    final MessageDigest digest = MessageDigest.getInstance("SHA-256");
-    digest.update(telegramKey.getBytes(StandardCharsets.UTF_8));
-    final byte[] hashbytes = digest.digest(originalString.getBytes(StandardCharsets.UTF_8));
-    return bytesToHex(hashbytes);
+    return hashes.get(originalString, this::computeHash);
   }
 
-  private static String bytesToHex(byte[] hash) {
-    StringBuilder hexString = new StringBuilder(2 * hash.length);
-    for (byte b : hash) {
-      String hex = Integer.toHexString(0xff & b);
-      if (hex.length() == 1) {
-        hexString.append('0');
-      }
-      hexString.append(hex);
+  /**
+   * Checks the hash of the value in constant time.
+   */
+  public boolean verify(String originalString, String hash) {
+    if (hash == null) {
+      return false;
     }
-    return hexString.toString();
+    return MessageDigest.isEqual(
+        getHash(originalString).getBytes(StandardCharsets.US_ASCII),
+        hash.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  @SneakyThrows
+  private String computeHash(String originalString) {
+    var digest = (MessageDigest) keyedDigest.get().clone();
+    return HEX_FORMAT.formatHex(digest.digest(originalString.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @SneakyThrows
+  private MessageDigest createKeyedDigest() {
+    var digest = MessageDigest.getInstance("SHA-256");
+    digest.update(telegramKey.getBytes(StandardCharsets.UTF_8));
+    return digest;
   }
 
 }
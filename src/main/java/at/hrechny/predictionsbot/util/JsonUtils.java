@@ -0,0 +1,29 @@
+package at.hrechny.predictionsbot.util;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class JsonUtils {
+
+  private JsonUtils() {
+  }
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+      .configure(DeserializationFeature.FAIL_ON_INVALID_SUBTYPE, false)
+      .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+      .registerModule(new JavaTimeModule());
+
+  private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the shared thread-safe reader for the type, configured once for all external payloads
+   */
+  public static ObjectReader getReader(Class<?> targetType) {
+    return READERS.computeIfAbsent(targetType, OBJECT_MAPPER::readerFor);
+  }
+
+}
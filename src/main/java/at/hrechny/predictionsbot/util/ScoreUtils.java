@@ -0,0 +1,54 @@
+package at.hrechny.predictionsbot.util;
+
+import at.hrechny.predictionsbot.database.entity.PredictionEntity;
+
+public class ScoreUtils {
+
+  private ScoreUtils() {
+  }
+
+  public static boolean isGuessed(Integer homeScore, Integer awayScore, PredictionEntity prediction) {
+    if (homeScore == null || awayScore == null) {
+      return false;
+    }
+
+    //draw hit
+    if (homeScore - awayScore == prediction.getPredictionHome() - prediction.getPredictionAway()) {
+      return true;
+    //winner hit
+    } else if (homeScore > awayScore && prediction.getPredictionHome() > prediction.getPredictionAway()) {
+      return true;
+    } else {
+      return homeScore < awayScore && prediction.getPredictionHome() < prediction.getPredictionAway();
+    }
+  }
+
+  public static int getPoints(Integer homeScore, Integer awayScore, PredictionEntity prediction) {
+    if (homeScore == null || awayScore == null) {
+      return 0;
+    }
+
+    int result = 0;
+
+    //exact hit
+    if (homeScore.equals(prediction.getPredictionHome()) && awayScore.equals(prediction.getPredictionAway())) {
+      result = 5;
+    //difference hit
+    } else if (homeScore - awayScore == prediction.getPredictionHome() - prediction.getPredictionAway()) {
+      result = 3;
+    //winner hit (home)
+    } else if (homeScore > awayScore && prediction.getPredictionHome() > prediction.getPredictionAway()) {
+      result = 2;
+    //winner hit (away)
+    } else if (homeScore < awayScore && prediction.getPredictionHome() < prediction.getPredictionAway()) {
+      result = 2;
+    }
+
+    if (prediction.isDoubleUp()) {
+      result *= 2;
+    }
+
+    return result;
+  }
+
+}
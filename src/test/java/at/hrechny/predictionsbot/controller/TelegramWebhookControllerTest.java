@@ -0,0 +1,60 @@
+package at.hrechny.predictionsbot.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import at.hrechny.predictionsbot.service.telegram.MessageListener;
+import com.pengrad.telegrambot.model.Update;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TelegramWebhookControllerTest {
+
+  private static final String UPDATE = """
+      {"update_id": 1001, "message": {"message_id": 7, "date": 1700000000, "chat": {"id": 42, "type": "private"},
+      "from": {"id": 42, "is_bot": false, "first_name": "Test"}, "text": "/help"}}
+      """;
+
+  private MessageListener messageListener;
+  private TelegramWebhookController controller;
+
+  @BeforeEach
+  void setUp() {
+    messageListener = mock(MessageListener.class);
+    controller = new TelegramWebhookController(messageListener);
+    ReflectionTestUtils.setField(controller, "webhookSecret", "secret");
+  }
+
+  @Test
+  void receiveUpdateTest() {
+    var response = controller.receiveUpdate("secret", UPDATE);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    var update = ArgumentCaptor.forClass(Update.class);
+    verify(messageListener).enqueue(update.capture());
+    assertEquals(1001, update.getValue().updateId());
+    assertEquals(42L, update.getValue().message().chat().id());
+    assertEquals("/help", update.getValue().message().text());
+  }
+
+  @Test
+  void receiveUpdateWithInvalidSecretTest() {
+    assertEquals(HttpStatus.FORBIDDEN, controller.receiveUpdate("wrong", UPDATE).getStatusCode());
+    assertEquals(HttpStatus.FORBIDDEN, controller.receiveUpdate(null, UPDATE).getStatusCode());
+    verify(messageListener, never()).enqueue(any());
+  }
+
+  @Test
+  void receiveUpdateWithoutConfiguredSecretTest() {
+    ReflectionTestUtils.setField(controller, "webhookSecret", "");
+
+    assertEquals(HttpStatus.FORBIDDEN, controller.receiveUpdate("", UPDATE).getStatusCode());
+    verify(messageListener, never()).enqueue(any());
+  }
+}
@@ -1,8 +1,11 @@
 package at.hrechny.predictionsbot.database.model;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import at.hrechny.predictionsbot.exception.NotFoundException;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -25,4 +28,13 @@ class RoundTypeTest {
     playOffs = RoundType.getByAlias("Promotion Play-offs");
     assertTrue(playOffs.contains(RoundType.QUALIFYING), "Should match as QUALIFYING");
   }
-}
\ No newline at end of file
+
+  @Test
+  void testResolvedAliases() {
+    assertEquals(List.of(RoundType.SEASON), RoundType.getByAlias("Regular Season - 12"));
+    assertEquals(List.of(RoundType.GROUP_STAGE), RoundType.getByAlias("League Stage - 3"));
+    assertEquals(List.of(RoundType.QUARTER_FINAL, RoundType.QUARTER_FINAL_RETURN), RoundType.getByAlias("Quarter-finals"));
+    assertSame(RoundType.getByAlias("Quarter-finals"), RoundType.getByAlias("Quarter-finals"), "Resolved aliases should be reused");
+    assertThrows(NotFoundException.class, () -> RoundType.getByAlias("Unknown Round"));
+  }
+}
@@ -0,0 +1,38 @@
+package at.hrechny.predictionsbot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HashUtilsTest {
+
+  private HashUtils hashUtils;
+
+  @BeforeEach
+  void setUp() {
+    hashUtils = new HashUtils();
+    ReflectionTestUtils.setField(hashUtils, "telegramKey", "key");
+    ReflectionTestUtils.setField(hashUtils, "cacheSize", 10);
+    hashUtils.init();
+  }
+
+  @Test
+  void getHashTest() {
+    // sha256("key12345"), the format of the already sent web app URLs
+    assertEquals("0b4b059debcfc8757fb2dd7e8326c33879f1318393a920b46a31e57ab51105b7", hashUtils.getHash("12345"));
+    assertEquals(hashUtils.getHash("12345"), hashUtils.getHash("12345"));
+  }
+
+  @Test
+  void verifyTest() {
+    var hash = hashUtils.getHash("12345");
+    assertTrue(hashUtils.verify("12345", hash));
+    assertFalse(hashUtils.verify("12345", hash.substring(1)));
+    assertFalse(hashUtils.verify("12346", hash));
+    assertFalse(hashUtils.verify("12345", null));
+  }
+}
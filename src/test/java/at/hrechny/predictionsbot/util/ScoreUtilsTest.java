@@ -0,0 +1,38 @@
+package at.hrechny.predictionsbot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import at.hrechny.predictionsbot.database.entity.PredictionEntity;
+import org.junit.jupiter.api.Test;
+
+class ScoreUtilsTest {
+
+  @Test
+  void getPointsTest() {
+    assertEquals(5, ScoreUtils.getPoints(2, 1, prediction(2, 1, false)));
+    assertEquals(3, ScoreUtils.getPoints(3, 2, prediction(2, 1, false)));
+    assertEquals(2, ScoreUtils.getPoints(3, 0, prediction(2, 1, false)));
+    assertEquals(2, ScoreUtils.getPoints(0, 3, prediction(1, 2, false)));
+    assertEquals(0, ScoreUtils.getPoints(0, 3, prediction(2, 1, false)));
+    assertEquals(10, ScoreUtils.getPoints(1, 1, prediction(1, 1, true)));
+    assertEquals(0, ScoreUtils.getPoints(null, null, prediction(1, 1, true)));
+  }
+
+  @Test
+  void isGuessedTest() {
+    assertTrue(ScoreUtils.isGuessed(2, 2, prediction(0, 0, false)));
+    assertTrue(ScoreUtils.isGuessed(3, 0, prediction(1, 0, false)));
+    assertFalse(ScoreUtils.isGuessed(0, 1, prediction(1, 0, false)));
+    assertFalse(ScoreUtils.isGuessed(null, 1, prediction(1, 0, false)));
+  }
+
+  private PredictionEntity prediction(int home, int away, boolean doubleUp) {
+    var prediction = new PredictionEntity();
+    prediction.setPredictionHome(home);
+    prediction.setPredictionAway(away);
+    prediction.setDoubleUp(doubleUp);
+    return prediction;
+  }
+}